@@ -0,0 +1,100 @@
+package account.benchmark;
+
+import account.json.DtoSerializers;
+import account.payment.dto.PaymentDto;
+import account.user.dto.UserDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// CPU per response comes from the JMH score; bytes per response (plain and gzipped) are printed once
+// per trial so both can be compared against today's indented, reflective output (mode=indented).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    int size;
+
+    // indented: INDENT_OUTPUT=true with bean serializers, as the default profile serves today
+    // compact: INDENT_OUTPUT=false with the hand-written DtoSerializers, as the prod profile serves
+    @Param({"indented", "compact"})
+    String mode;
+
+    private ObjectWriter writer;
+    private UserDto[] users;
+    private PaymentDto[] payments;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = mode.equals("compact")
+            ? Jackson2ObjectMapperBuilder.json().modulesToInstall(DtoSerializers.module()).build()
+            : Jackson2ObjectMapperBuilder.json().build();
+        writer = mode.equals("compact")
+            ? objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT)
+            : objectMapper.writer(SerializationFeature.INDENT_OUTPUT);
+        users = new UserDto[size];
+        payments = new PaymentDto[size];
+        for (int i = 0; i < size; i++) {
+            users[i] = new UserDto((long) i + 1, "Name" + i, "Lastname" + i, "user" + i + "@acme.com",
+                new String[]{"ROLE_ACCOUNTANT", "ROLE_USER"});
+            payments[i] = new PaymentDto("Name" + i, "Lastname" + i, "January-2021",
+                (i * 37L) + " dollar(s) " + (i % 100) + " cent(s)");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSizes() throws IOException {
+        byte[] userJson = serializeUsers();
+        byte[] paymentJson = serializePayments();
+        System.out.printf("%n%s, %d items: UserDto[] %d bytes (%d gzipped), PaymentDto[] %d bytes (%d gzipped)%n",
+            mode, size, userJson.length, gzip(userJson).length, paymentJson.length, gzip(paymentJson).length);
+    }
+
+    @Benchmark
+    public byte[] serializeUsers() throws IOException {
+        return writer.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] serializePayments() throws IOException {
+        return writer.writeValueAsBytes(payments);
+    }
+
+    // What the response costs once server.compression kicks in for a client sending Accept-Encoding: gzip
+    @Benchmark
+    public byte[] serializePaymentsGzipped() throws IOException {
+        return gzip(writer.writeValueAsBytes(payments));
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        }
+        return compressed.toByteArray();
+    }
+}
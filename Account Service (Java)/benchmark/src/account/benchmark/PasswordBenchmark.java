@@ -0,0 +1,69 @@
+package account.benchmark;
+
+import account.BreachedPasswords;
+import account.exceptionhandler.exception.InsufficientPasswordException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// BCrypt at the service's cost factor takes hundreds of milliseconds per call, so iterations are
+// counted in seconds rather than the JMH default.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class PasswordBenchmark {
+
+    private static final String PASSWORD = "oMoa3VvqnLxW";
+
+    private BreachedPasswords breachedPasswords;
+    private BCryptPasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        breachedPasswords = new BreachedPasswords(List.of(), new SimpleMeterRegistry());
+        passwordEncoder = new BCryptPasswordEncoder(13);
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+    }
+
+    // Worst case: a clean password is compared against every breached hash.
+    @Benchmark
+    public void validatePasswordBreachedClean() {
+        breachedPasswords.validatePasswordBreached(PASSWORD);
+    }
+
+    @Benchmark
+    public Object validatePasswordBreachedHit() {
+        try {
+            breachedPasswords.validatePasswordBreached("PasswordForJune");
+            return null;
+        } catch (InsufficientPasswordException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+}
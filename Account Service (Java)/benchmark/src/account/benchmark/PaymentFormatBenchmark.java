@@ -0,0 +1,40 @@
+package account.benchmark;
+
+import account.payment.PaymentFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PaymentFormatBenchmark {
+
+    @Param({"01-2021", "12-2023"})
+    String period;
+
+    @Param({"123456", "99"})
+    long salary;
+
+    @Benchmark
+    public String formatPeriod() {
+        return PaymentFormat.period(period);
+    }
+
+    @Benchmark
+    public String formatSalary() {
+        return PaymentFormat.salary(salary);
+    }
+}
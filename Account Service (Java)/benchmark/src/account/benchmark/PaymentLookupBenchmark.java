@@ -0,0 +1,201 @@
+package account.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The repository lookups at 1M payment rows, as the SQL Hibernate issues for them, against the schema
+// of V1 alone ("baseline", no lookup indexes), after V2 ("indexed", email-keyed indexes) and after
+// V5 ("keyed", payments referencing users.id). The schema comes from the service's own Flyway scripts,
+// applied to the loaded rows the way they run against an existing database, and the space the
+// payments table takes is printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PaymentLookupBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int PAYMENTS_PER_EMPLOYEE = 100;
+    private static final String[] MONTHS = {"01", "02", "03", "04", "05", "06", "07", "08", "09", "11", "12"};
+
+    private static final String[] MIGRATIONS = {
+        "db/migration/V2__lookup_indexes.sql",
+        "db/migration/V3__registration_state.sql",
+        "db/migration/V4__roles_bitmask.sql",
+        "db/migration/V5__payments_user_id.sql"
+    };
+
+    @Param({"baseline", "indexed", "keyed"})
+    String schema;
+
+    private boolean keyed;
+
+    private Connection connection;
+    private PreparedStatement findUserByEmail;
+    private PreparedStatement existsByEmployeeAndPeriod;
+    private PreparedStatement findByEmployeeAndPeriod;
+    private PreparedStatement findByEmployeeOrderByPeriodDesc;
+
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:lookup_" + schema + ";DB_CLOSE_DELAY=-1", "sa", "");
+        runScript("db/migration/V1__baseline.sql");
+        seed();
+        keyed = "keyed".equals(schema);
+        if ("indexed".equals(schema)) runScript(MIGRATIONS[0]);
+        if (keyed) {
+            for (String migration : MIGRATIONS) runScript(migration);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze");
+        }
+
+        // With V5 the service reads payments by the authenticated user's id, which it already holds.
+        String key = keyed ? "user_id" : "employee";
+        findUserByEmail = connection.prepareStatement(
+            "select id, email, lastname, name, password from users where email = ?");
+        existsByEmployeeAndPeriod = connection.prepareStatement(
+            "select id from payments where " + key + " = ? and period = ? fetch first 1 rows only");
+        findByEmployeeAndPeriod = connection.prepareStatement(
+            "select id, " + key + ", period, salary from payments where " + key + " = ? and period = ?");
+        findByEmployeeOrderByPeriodDesc = connection.prepareStatement(
+            "select id, " + key + ", period, salary from payments where " + key + " = ? order by period desc");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("select disk_space_used('PAYMENTS')")) {
+            size.next();
+            System.out.printf("%n%s: payments table and indexes take %d bytes%n", schema, size.getLong(1));
+            statement.execute("shutdown");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long findUserByEmail() throws SQLException {
+        findUserByEmail.setString(1, email(randomEmployee()));
+        return drain(findUserByEmail);
+    }
+
+    @Benchmark
+    public long existsByEmployeeAndPeriod() throws SQLException {
+        int employee = randomEmployee();
+        bindEmployee(existsByEmployeeAndPeriod, employee);
+        existsByEmployeeAndPeriod.setString(2, period(ThreadLocalRandom.current().nextInt(PAYMENTS_PER_EMPLOYEE)));
+        return drain(existsByEmployeeAndPeriod);
+    }
+
+    @Benchmark
+    public long findByEmployeeAndPeriod() throws SQLException {
+        int employee = randomEmployee();
+        bindEmployee(findByEmployeeAndPeriod, employee);
+        findByEmployeeAndPeriod.setString(2, period(ThreadLocalRandom.current().nextInt(PAYMENTS_PER_EMPLOYEE)));
+        return drain(findByEmployeeAndPeriod);
+    }
+
+    @Benchmark
+    public long findByEmployeeOrderByPeriodDesc() throws SQLException {
+        bindEmployee(findByEmployeeOrderByPeriodDesc, randomEmployee());
+        return drain(findByEmployeeOrderByPeriodDesc);
+    }
+
+    //Helper Methods
+
+    private void seed() throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement users = connection.prepareStatement(
+                 "insert into users (id, email, lastname, name, password) values (?, ?, 'Lookup', 'Bench', '{bcrypt}')");
+             PreparedStatement payments = connection.prepareStatement(
+                 "insert into payments (id, employee, period, salary) values (?, ?, ?, ?)")) {
+            long paymentId = 1;
+            for (int employee = 0; employee < EMPLOYEES; employee++) {
+                users.setLong(1, employee + 1);
+                users.setString(2, email(employee));
+                users.addBatch();
+                for (int i = 0; i < PAYMENTS_PER_EMPLOYEE; i++) {
+                    payments.setLong(1, paymentId++);
+                    payments.setString(2, email(employee));
+                    payments.setString(3, period(i));
+                    payments.setLong(4, 100_000L + i);
+                    payments.addBatch();
+                }
+                if (employee % 100 == 99) {
+                    users.executeBatch();
+                    payments.executeBatch();
+                }
+            }
+            users.executeBatch();
+            payments.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private void bindEmployee(PreparedStatement statement, int employee) throws SQLException {
+        if (keyed) {
+            statement.setLong(1, employee + 1);
+        } else {
+            statement.setString(1, email(employee));
+        }
+    }
+
+    private void runScript(String resource) throws SQLException, IOException {
+        String script;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) throw new IOException(resource + " is not on the classpath");
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement statement = connection.createStatement()) {
+            // The migrations are plain DDL: no semicolons inside statements, comments on their own lines.
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!sql.isBlank()) statement.execute(sql);
+            }
+        }
+    }
+
+    private static long drain(PreparedStatement statement) throws SQLException {
+        long checksum = 0;
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) checksum += rows.getLong(1);
+        }
+        return checksum;
+    }
+
+    private static int randomEmployee() {
+        return ThreadLocalRandom.current().nextInt(EMPLOYEES);
+    }
+
+    private static String email(int employee) {
+        return "lookup" + employee + "@acme.com";
+    }
+
+    private static String period(int i) {
+        return MONTHS[i % MONTHS.length] + "-" + (2000 + i / MONTHS.length);
+    }
+}
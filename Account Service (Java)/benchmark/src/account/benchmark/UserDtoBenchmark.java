@@ -0,0 +1,57 @@
+package account.benchmark;
+
+import account.authority.Role;
+import account.user.User;
+import account.user.UserDtos;
+import account.user.dto.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserDtoBenchmark {
+
+    @Param({"1000", "100000"})
+    int users;
+
+    private List<User> userList;
+
+    @Setup
+    public void setUp() {
+        int administrator = Role.ADMINISTRATOR.bit();
+        int business = Role.USER.bit() | Role.ACCOUNTANT.bit();
+        userList = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User("Name" + i, "Lastname" + i, "user" + i + "@acme.com", "{bcrypt}",
+                i == 0 ? administrator : business);
+            user.setId((long) i + 1);
+            userList.add(user);
+        }
+        // repositories return rows in storage order, not id order; make the sort do real work
+        Collections.shuffle(userList, new Random(42));
+    }
+
+    @Benchmark
+    public UserDto[] buildUserDtoArray() {
+        return UserDtos.sortedById(userList);
+    }
+}
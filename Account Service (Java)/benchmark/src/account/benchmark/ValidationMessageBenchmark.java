@@ -0,0 +1,44 @@
+package account.benchmark;
+
+import account.exceptionhandler.ValidationMessages;
+import account.user.request.UserRegistrationRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValidationMessageBenchmark {
+
+    private BindingResult bindingResult;
+
+    @Setup
+    public void setUp() {
+        UserRegistrationRequest request = new UserRegistrationRequest("", "Doe", "johndoe@acme.com", "");
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(request, "userRegistrationRequest");
+        result.addError(new FieldError("userRegistrationRequest", "name", "", false,
+            new String[]{"NotBlank"}, null, "must not be blank"));
+        bindingResult = result;
+    }
+
+    @Benchmark
+    public String extractValidationMessage() {
+        return ValidationMessages.of(bindingResult);
+    }
+}
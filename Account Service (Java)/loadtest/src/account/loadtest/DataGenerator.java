@@ -0,0 +1,108 @@
+package account.loadtest;
+
+import account.authority.Role;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Writes the synthetic population straight into the tables with JDBC batches; going through the API
+// would cost one BCrypt hash and a breached-password check per user. The same seed always produces
+// the same users, roles and payments.
+public class DataGenerator {
+
+    static final String PASSWORD = "lOadtestPass1";
+    static final String[] MONTHS = {"01", "02", "03", "04", "05", "06", "07", "08", "09", "11", "12"};
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int ACCOUNTANT_EVERY = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SplittableRandom random;
+
+    public DataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public Population generate(int users, int payments) {
+        if (users < 2) throw new IllegalArgumentException("At least an administrator and one employee are needed");
+        long firstId = nextFreeId("users");
+        String hash = new BCryptPasswordEncoder(13).encode(PASSWORD);
+
+        List<String> employees = new ArrayList<>(users - 1);
+        List<String> accountants = new ArrayList<>();
+        List<Object[]> userRows = new ArrayList<>(BATCH_SIZE);
+        String administrator = null;
+        for (int i = 0; i < users; i++) {
+            long id = firstId + i;
+            String email = "lt" + i + "@acme.com";
+            int roles;
+            if (i == 0) {
+                administrator = email;
+                roles = Role.ADMINISTRATOR.bit();
+            } else {
+                employees.add(email);
+                roles = Role.USER.bit();
+                if (i % ACCOUNTANT_EVERY == 1) {
+                    accountants.add(email);
+                    roles |= Role.ACCOUNTANT.bit();
+                }
+            }
+            userRows.add(new Object[]{id, "Name" + random.nextInt(1_000_000), "Lastname" + i, email, hash, roles});
+            if (userRows.size() == BATCH_SIZE) flushUsers(userRows);
+        }
+        flushUsers(userRows);
+        // The generated administrator takes the first-administrator slot signups would otherwise claim.
+        jdbcTemplate.update("UPDATE registration_state SET admin_claimed = TRUE WHERE id = 1");
+
+        long firstPaymentId = nextFreeId("payments");
+        List<Object[]> paymentRows = new ArrayList<>(BATCH_SIZE);
+        for (int j = 0; j < payments; j++) {
+            int slot = j / employees.size();
+            String period = MONTHS[slot % MONTHS.length] + "-" + (2000 + slot / MONTHS.length);
+            // employees are users 1..n-1 of this run, so the k-th employee's id is firstId + 1 + k
+            paymentRows.add(new Object[]{firstPaymentId + j, firstId + 1 + j % employees.size(), period,
+                10_000L + random.nextInt(1_000_000)});
+            if (paymentRows.size() == BATCH_SIZE) flushPayments(paymentRows);
+        }
+        flushPayments(paymentRows);
+
+        restartSequence("user_seq", firstId + users);
+        restartSequence("payment_seq", firstPaymentId + payments);
+        return new Population(administrator, List.copyOf(employees), List.copyOf(accountants));
+    }
+
+    private long nextFreeId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    // Hibernate's pooled optimizer hands out a block of 50 ids below or above the sequence value
+    // depending on its state, so leave a full block of headroom past the generated rows.
+    private void restartSequence(String sequence, long nextFree) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (nextFree + 100));
+    }
+
+    private void flushUsers(List<Object[]> userRows) {
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO users (id, name, lastname, email, password, roles) VALUES (?, ?, ?, ?, ?, ?)", userRows);
+        userRows.clear();
+    }
+
+    private void flushPayments(List<Object[]> paymentRows) {
+        jdbcTemplate.batchUpdate("INSERT INTO payments (id, user_id, period, salary) VALUES (?, ?, ?, ?)",
+            paymentRows);
+        paymentRows.clear();
+    }
+
+    public record Population(String administrator, List<String> employees, List<String> accountants) {
+
+        @Override
+        public String toString() {
+            return employees.size() + 1 + " users (" + accountants.size() + " accountants)";
+        }
+    }
+}
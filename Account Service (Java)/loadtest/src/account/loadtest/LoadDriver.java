@@ -0,0 +1,156 @@
+package account.loadtest;
+
+import account.concurrency.VirtualThreads;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop clients: each one issues its next request as soon as the previous one answers, so the
+// reported latencies are service times under the configured concurrency, not under a fixed arrival rate.
+public class LoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final DataGenerator.Population population;
+    private final List<String> roleTargets;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final SplittableRandom random;
+    private final int batchSize;
+    private final AtomicLong signups = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong roleChanges = new AtomicLong();
+
+    public LoadDriver(int port, DataGenerator.Population population, Map<Operation, Integer> mix, long seed,
+                      int batchSize) {
+        this.baseUrl = "http://localhost:" + port;
+        this.population = population;
+        // Accountants keep their role so batch posts never lose their authors mid-run.
+        this.roleTargets = population.employees().stream()
+            .filter(email -> !population.accountants().contains(email))
+            .toList();
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+        this.random = new SplittableRandom(seed);
+        this.batchSize = Math.min(batchSize, DataGenerator.MONTHS.length);
+    }
+
+    // Returns the time the clients actually ran, which ends after the deadline by up to one request each;
+    // rates are taken over it rather than over the requested duration.
+    public Duration run(int clients, Duration duration, LoadReport report) throws InterruptedException {
+        long begin = System.nanoTime();
+        long deadline = begin + duration.toNanos();
+        List<SplittableRandom> clientRandoms = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) clientRandoms.add(random.split());
+
+        ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor()
+            .orElseGet(() -> {
+                System.out.println("Virtual threads are not available, using " + clients + " platform threads");
+                return Executors.newFixedThreadPool(clients);
+            });
+        for (SplittableRandom clientRandom : clientRandoms) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = pick(clientRandom);
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = execute(operation, clientRandom);
+                    } catch (IOException e) {
+                        status = -1;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    report.record(operation, System.nanoTime() - start, status);
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS)) executor.shutdownNow();
+        return Duration.ofNanos(System.nanoTime() - begin);
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    private int execute(Operation operation, SplittableRandom random) throws IOException, InterruptedException {
+        return switch (operation) {
+            case SIGNUP -> send("POST", "/api/auth/signup", null, signupBody(signups.incrementAndGet()));
+            case READ -> send("GET", "/api/empl/payment", pickFrom(population.employees(), random), null);
+            case POST -> send("POST", "/api/acct/payments", pickFrom(population.accountants(), random),
+                paymentBatch(batches.getAndIncrement()));
+            case ROLE -> {
+                long change = roleChanges.getAndIncrement();
+                String target = roleTargets.get((int) ((change / 2) % roleTargets.size()));
+                yield send("PUT", "/api/admin/user/role", population.administrator(),
+                    "{\"user\":\"" + target + "\",\"role\":\"ACCOUNTANT\",\"operation\":\""
+                        + (change % 2 == 0 ? "GRANT" : "REMOVE") + "\"}");
+            }
+        };
+    }
+
+    // Every batch targets one employee and a year the generator never used, so posts do not collide
+    // until the run wraps around a hundred times per employee.
+    private String paymentBatch(long batch) {
+        List<String> employees = population.employees();
+        String employee = employees.get((int) (batch % employees.size()));
+        long year = 1900 + (batch / employees.size()) % 100;
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < batchSize; i++) {
+            if (i > 0) body.append(',');
+            body.append("{\"employee\":\"").append(employee).append("\",\"period\":\"")
+                .append(DataGenerator.MONTHS[i]).append('-').append(year)
+                .append("\",\"salary\":").append(100_000 + i).append('}');
+        }
+        return body.append(']').toString();
+    }
+
+    private static String signupBody(long n) {
+        return "{\"name\":\"Load\",\"lastname\":\"Signup" + n + "\",\"email\":\"ltsignup" + n
+            + "@acme.com\",\"password\":\"" + DataGenerator.PASSWORD + "\"}";
+    }
+
+    private static String pickFrom(List<String> emails, SplittableRandom random) {
+        return emails.get(random.nextInt(emails.size()));
+    }
+
+    private int send(String method, String path, String login, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body));
+        if (login != null) {
+            String credentials = login + ":" + DataGenerator.PASSWORD;
+            request.header("Authorization", "Basic "
+                + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,103 @@
+package account.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies are recorded in microseconds with three significant digits, so every percentile is exact
+// to 0.1% regardless of how many samples were taken.
+public class LoadReport {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    public LoadReport() {
+        for (Operation operation : Operation.values()) stats.put(operation, new Stats());
+    }
+
+    // status: HTTP status code, or -1 when the request failed without a response
+    void record(Operation operation, long nanos, int status) {
+        Stats operationStats = stats.get(operation);
+        operationStats.latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_MICROS));
+        if (status >= 200 && status < 300) operationStats.ok.increment();
+        else if (status >= 400 && status < 500) operationStats.rejected.increment();
+        else operationStats.errors.increment();
+    }
+
+    long count(Operation operation) {
+        return stats.get(operation).latency.getTotalCount();
+    }
+
+    // Everything that did not end in a 2xx: rejections and failures alike.
+    long failed(Operation operation) {
+        Stats operationStats = stats.get(operation);
+        return operationStats.rejected.sum() + operationStats.errors.sum();
+    }
+
+    double throughput(Operation operation, Duration duration) {
+        return count(operation) / (duration.toNanos() / 1_000_000_000.0);
+    }
+
+    double percentileMillis(Operation operation, double percentile) {
+        return stats.get(operation).latency.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    void print(PrintStream out, Duration duration) {
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        out.printf("%-8s %9s %9s %9s %9s %10s %10s %10s %10s %10s%n", "op", "count", "ok", "4xx", "errors",
+            "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        Histogram total = new Histogram(HIGHEST_MICROS, 3);
+        long ok = 0, rejected = 0, errors = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats operationStats = entry.getValue();
+            if (operationStats.latency.getTotalCount() == 0) continue;
+            total.add(operationStats.latency);
+            ok += operationStats.ok.sum();
+            rejected += operationStats.rejected.sum();
+            errors += operationStats.errors.sum();
+            printRow(out, entry.getKey().label(), operationStats.latency, operationStats.ok.sum(),
+                operationStats.rejected.sum(), operationStats.errors.sum(), seconds);
+        }
+        printRow(out, "all", total, ok, rejected, errors, seconds);
+    }
+
+    // One .hgrm file per operation, loadable in the HdrHistogram plotter.
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            if (entry.getValue().latency.getTotalCount() == 0) continue;
+            try (PrintStream out = new PrintStream(
+                Files.newOutputStream(directory.resolve(entry.getKey().label() + ".hgrm")))) {
+                entry.getValue().latency.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram latency, long ok, long rejected,
+                                 long errors, double seconds) {
+        out.printf("%-8s %9d %9d %9d %9d %10.1f %10.2f %10.2f %10.2f %10.2f%n", label,
+            latency.getTotalCount(), ok, rejected, errors, latency.getTotalCount() / seconds,
+            latency.getValueAtPercentile(50) / MICROS_PER_MILLI,
+            latency.getValueAtPercentile(99) / MICROS_PER_MILLI,
+            latency.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+            latency.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static class Stats {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder errors = new LongAdder();
+    }
+}
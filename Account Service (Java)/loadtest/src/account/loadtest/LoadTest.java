@@ -0,0 +1,59 @@
+package account.loadtest;
+
+import account.AccountServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Boots the service against an in-memory H2 database, seeds it with a deterministic population and
+ * drives a weighted mix of signups, payment reads, batch payment posts and role changes. Prints
+ * throughput and p50/p99/p999 per operation and writes HdrHistogram .hgrm files to loadtest.report-dir.
+ *
+ * Settings are system properties: loadtest.users, loadtest.payments, loadtest.clients, loadtest.seconds,
+ * loadtest.warmup-seconds, loadtest.mix, loadtest.batch-size and loadtest.seed.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 10_000);
+        int payments = Integer.getInteger("loadtest.payments", 100_000);
+        int clients = Integer.getInteger("loadtest.clients", 64);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.seconds", 60));
+        int batchSize = Integer.getInteger("loadtest.batch-size", 11);
+        long seed = Long.getLong("loadtest.seed", 42);
+        Map<Operation, Integer> mix = Operation.parseMix(
+            System.getProperty("loadtest.mix", "read=70,post=10,signup=5,role=15"));
+        Path reportDirectory = Path.of(System.getProperty("loadtest.report-dir", "build/loadtest"));
+
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+            new SpringApplicationBuilder(AccountServiceApplication.class)
+                .properties(
+                    "server.port=0",
+                    "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                    "spring.jpa.show-sql=false",
+                    "logging.level.root=WARN",
+                    "logging.level.org.springframework.security=WARN")
+                .run()) {
+            long seeding = System.nanoTime();
+            DataGenerator.Population population = new DataGenerator(context.getBean(JdbcTemplate.class), seed)
+                .generate(users, payments);
+            System.out.printf("Seeded %s and %d payments in %d ms%n", population, payments,
+                (System.nanoTime() - seeding) / 1_000_000);
+
+            LoadDriver driver = new LoadDriver(context.getWebServer().getPort(), population, mix, seed, batchSize);
+            driver.run(clients, warmup, new LoadReport());
+
+            LoadReport report = new LoadReport();
+            Duration measured = driver.run(clients, duration, report);
+            System.out.printf("%d clients, %d s, mix %s%n", clients, duration.toSeconds(), mix);
+            report.print(System.out, measured);
+            report.write(reportDirectory);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package account.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+public enum Operation {
+    SIGNUP,
+    READ,
+    POST,
+    ROLE;
+
+    // "read=70,post=10,signup=5,role=15"; operations left out are not issued
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) throw new IllegalArgumentException("Negative weight: " + entry);
+            if (weight > 0) weights.put(valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("The mix issues no operations: " + mix);
+        return weights;
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
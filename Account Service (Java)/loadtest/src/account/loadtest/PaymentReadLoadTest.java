@@ -0,0 +1,115 @@
+package account.loadtest;
+
+import account.AccountServiceApplication;
+import account.payment.PaymentReadMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives GET /api/empl/payment through the servlet and the reactive read path (payment.read.reactive)
+ * and reports, next to throughput and latency, how many database connections and threads were held
+ * and how much heap each in-flight request cost on average.
+ *
+ * Settings are system properties: loadtest.concurrency, loadtest.seconds, loadtest.warmup-seconds,
+ * loadtest.users, loadtest.payments and loadtest.seed.
+ */
+public class PaymentReadLoadTest {
+
+    private static final Map<Operation, Integer> READS = Map.of(Operation.READ, 1);
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 256);
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5));
+        int users = Integer.getInteger("loadtest.users", 1_000);
+        int payments = Integer.getInteger("loadtest.payments", 10_000);
+        long seed = Long.getLong("loadtest.seed", 42);
+
+        System.out.printf("%-9s %10s %9s %12s %12s %12s %14s%n",
+            "path", "req/s", "p99 ms", "in-flight", "jdbc held", "r2dbc held", "heap/request");
+        for (boolean reactive : new boolean[] {false, true}) {
+            run(reactive, concurrency, warmup, duration, users, payments, seed);
+        }
+    }
+
+    private static void run(boolean reactive, int concurrency, Duration warmup, Duration duration, int users,
+                            int payments, long seed) throws Exception {
+        String path = reactive ? "reactive" : "servlet";
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+            new SpringApplicationBuilder(AccountServiceApplication.class)
+                .properties(
+                    "server.port=0",
+                    "payment.read.reactive=" + reactive,
+                    "spring.datasource.url=jdbc:h2:mem:readload_" + path + ";DB_CLOSE_DELAY=-1",
+                    "spring.jpa.show-sql=false",
+                    "logging.level.root=WARN",
+                    "logging.level.org.springframework.security=WARN")
+                .run()) {
+            DataGenerator.Population population = new DataGenerator(context.getBean(JdbcTemplate.class), seed)
+                .generate(users, payments);
+            LoadDriver driver = new LoadDriver(context.getWebServer().getPort(), population, READS, seed, 1);
+            driver.run(concurrency, warmup, new LoadReport());
+
+            PaymentReadMetrics readMetrics = context.getBean(PaymentReadMetrics.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+            HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+            System.gc();
+            long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+            Sampler inFlight = new Sampler();
+            Sampler jdbcHeld = new Sampler();
+            Sampler r2dbcHeld = new Sampler();
+            Sampler heap = new Sampler();
+
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> {
+                inFlight.add(readMetrics.inFlight());
+                jdbcHeld.add(activeConnections(primary) + activeConnections(replica));
+                Gauge acquired = meterRegistry.find("r2dbc.pool.acquired").gauge();
+                if (acquired != null) r2dbcHeld.add((long) acquired.value());
+                heap.add(memory.getHeapMemoryUsage().getUsed() - baselineHeap);
+            }, 0, 50, TimeUnit.MILLISECONDS);
+            LoadReport report = new LoadReport();
+            Duration measured = driver.run(concurrency, duration, report);
+            sampler.shutdownNow();
+
+            double perRequest = inFlight.average() > 0 ? heap.average() / inFlight.average() : Double.NaN;
+            System.out.printf("%-9s %10.1f %9.2f %12.1f %12.1f %12.1f %11.1f KiB%n", path,
+                report.throughput(Operation.READ, measured), report.percentileMillis(Operation.READ, 99),
+                inFlight.average(), jdbcHeld.average(), r2dbcHeld.average(), perRequest / 1024);
+        }
+    }
+
+    private static long activeConnections(HikariDataSource dataSource) {
+        return dataSource.getHikariPoolMXBean() == null ? 0 : dataSource.getHikariPoolMXBean().getActiveConnections();
+    }
+
+    private static class Sampler {
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong count = new AtomicLong();
+
+        void add(long value) {
+            sum.addAndGet(value);
+            count.incrementAndGet();
+        }
+
+        double average() {
+            return count.get() == 0 ? 0 : (double) sum.get() / count.get();
+        }
+    }
+}
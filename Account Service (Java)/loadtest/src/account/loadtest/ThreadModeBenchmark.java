@@ -0,0 +1,65 @@
+package account.loadtest;
+
+import account.AccountServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Compares throughput and latency percentiles of GET /api/empl/payment with request handling on
+ * Tomcat's platform-thread pool and on virtual threads (threads.virtual.enabled). Each mode boots on its
+ * own in-memory database seeded by DataGenerator and is driven by LoadDriver issuing reads only.
+ *
+ * Settings are system properties: loadtest.concurrency (a list of levels, e.g. 16,64,256), loadtest.seconds,
+ * loadtest.warmup-seconds, loadtest.users, loadtest.payments and loadtest.seed.
+ */
+public class ThreadModeBenchmark {
+
+    private static final Map<Operation, Integer> READS = Map.of(Operation.READ, 1);
+
+    public static void main(String[] args) throws Exception {
+        int[] levels = Arrays.stream(System.getProperty("loadtest.concurrency", "16,64,256").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.seconds", 15));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5));
+        int users = Integer.getInteger("loadtest.users", 1_000);
+        int payments = Integer.getInteger("loadtest.payments", 10_000);
+        long seed = Long.getLong("loadtest.seed", 42);
+
+        System.out.printf("%-9s %11s %12s %9s %9s %9s%n", "mode", "concurrency", "req/s", "p50 ms", "p99 ms", "failed");
+        for (boolean virtual : new boolean[] {false, true}) {
+            run(virtual, levels, warmup, duration, users, payments, seed);
+        }
+    }
+
+    private static void run(boolean virtual, int[] levels, Duration warmup, Duration duration, int users,
+                            int payments, long seed) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+            new SpringApplicationBuilder(AccountServiceApplication.class)
+                .properties(
+                    "server.port=0",
+                    "threads.virtual.enabled=" + virtual,
+                    "spring.datasource.url=jdbc:h2:mem:threadbench_" + mode + ";DB_CLOSE_DELAY=-1",
+                    "spring.jpa.show-sql=false",
+                    "logging.level.root=WARN",
+                    "logging.level.org.springframework.security=WARN")
+                .run()) {
+            DataGenerator.Population population = new DataGenerator(context.getBean(JdbcTemplate.class), seed)
+                .generate(users, payments);
+            LoadDriver driver = new LoadDriver(context.getWebServer().getPort(), population, READS, seed, 1);
+            for (int concurrency : levels) {
+                driver.run(concurrency, warmup, new LoadReport());
+                LoadReport report = new LoadReport();
+                Duration measured = driver.run(concurrency, duration, report);
+                System.out.printf("%-9s %11d %12.1f %9.2f %9.2f %9d%n", mode, concurrency,
+                    report.throughput(Operation.READ, measured), report.percentileMillis(Operation.READ, 50),
+                    report.percentileMillis(Operation.READ, 99), report.failed(Operation.READ));
+            }
+        }
+    }
+}
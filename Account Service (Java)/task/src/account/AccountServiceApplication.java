@@ -2,12 +2,19 @@ package account;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AccountServiceApplication {
 
+  // Startup steps kept for /actuator/startup; enough for the context refresh of this application.
+  private static final int STARTUP_STEP_CAPACITY = 4096;
+
   public static void main(String[] args) {
-    SpringApplication.run(AccountServiceApplication.class, args);
+    SpringApplication application = new SpringApplication(AccountServiceApplication.class);
+    application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+    application.run(args);
   }
 }
-
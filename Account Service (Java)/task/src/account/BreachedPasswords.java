@@ -1,50 +1,98 @@
 package account;
 
+import account.exceptionhandler.ErrorCode;
 import account.exceptionhandler.exception.InsufficientPasswordException;
+import account.jfr.BreachedCheckEvent;
+import account.metrics.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class BreachedPasswords {
 
-    private final List<String> breachedPasswords;
+    private static final Logger log = LoggerFactory.getLogger(BreachedPasswords.class);
 
-    BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(13);
+    private static final List<String> PASSWORDS = List.of(
+        "PasswordForJanuary",
+        "PasswordForFebruary",
+        "PasswordForMarch",
+        "PasswordForApril",
+        "PasswordForMay",
+        "PasswordForJune",
+        "PasswordForJuly",
+        "PasswordForAugust",
+        "PasswordForSeptember",
+        "PasswordForOctober",
+        "PasswordForNovember",
+        "PasswordForDecember"
+    );
+
+    private final CompletableFuture<List<String>> breachedPasswords;
+    private final PasswordEncoder passwordEncoder;
+
+    public BreachedPasswords(List<String> breachedPasswords, MeterRegistry meterRegistry) {
+        this(breachedPasswords, meterRegistry, "eager");
     }
 
-    public BreachedPasswords(List<String> breachedPasswords) {
-        List<String> passwords = List.of(
-            "PasswordForJanuary",
-            "PasswordForFebruary",
-            "PasswordForMarch",
-            "PasswordForApril",
-            "PasswordForMay",
-            "PasswordForJune",
-            "PasswordForJuly",
-            "PasswordForAugust",
-            "PasswordForSeptember",
-            "PasswordForOctober",
-            "PasswordForNovember",
-            "PasswordForDecember"
-        );
-
-        this.breachedPasswords =  passwords.stream()
-            .map(password -> passwordEncoder().encode(password))
-            .toList();
+    // Hashing twelve passwords at cost 13 takes seconds. With initialization=background the hashes are
+    // computed on a daemon thread while the rest of the context starts, and the first password check
+    // waits for them only if it arrives before they are ready.
+    @Autowired
+    public BreachedPasswords(List<String> breachedPasswords, MeterRegistry meterRegistry,
+                             @Value("${breached-passwords.initialization:eager}") String initialization) {
+        this.passwordEncoder = new TimedPasswordEncoder(
+            new BCryptPasswordEncoder(13), meterRegistry, "breached-passwords");
+
+        if ("background".equalsIgnoreCase(initialization)) {
+            this.breachedPasswords = CompletableFuture.supplyAsync(this::hashPasswords, task -> {
+                Thread thread = new Thread(task, "breached-passwords-init");
+                thread.setDaemon(true);
+                thread.start();
+            });
+        } else {
+            this.breachedPasswords = CompletableFuture.completedFuture(hashPasswords());
+        }
     }
 
     public List<String> getBreachedPasswords() {
-        return breachedPasswords;
+        return breachedPasswords.join();
     }
 
     public void validatePasswordBreached (String newPassword){
-        for (String pass : breachedPasswords) {
-            if (passwordEncoder().matches(newPassword, pass)) {
-                throw new InsufficientPasswordException("The password is in the hacker's database!");
+        BreachedCheckEvent event = new BreachedCheckEvent();
+        event.begin();
+        int compared = 0;
+        try {
+            for (String pass : breachedPasswords.join()) {
+                compared++;
+                if (passwordEncoder.matches(newPassword, pass)) {
+                    event.setBreached(true);
+                    throw new InsufficientPasswordException(ErrorCode.PASSWORD_BREACHED);
+                }
             }
+        } finally {
+            event.setCompared(compared);
+            event.commit();
         }
     }
+
+    //Helper Methods
+
+    private List<String> hashPasswords() {
+        long start = System.nanoTime();
+        List<String> hashes = PASSWORDS.stream()
+            .map(password -> passwordEncoder.encode(password))
+            .toList();
+        log.info("Hashed {} breached passwords in {} ms", hashes.size(), (System.nanoTime() - start) / 1_000_000);
+        return hashes;
+    }
 }
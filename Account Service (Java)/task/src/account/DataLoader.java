@@ -2,9 +2,15 @@ package account;
 
 import account.authority.Authority;
 import account.authority.AuthorityRepository;
+import account.authority.Role;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @Component
 public class DataLoader {
 
@@ -16,14 +22,19 @@ public class DataLoader {
         createAuthorities();
     }
 
+    // One select for what is already there, then insert only the missing roles; a restart against an
+    // existing database issues no inserts and relies on no constraint violations being swallowed.
     public void createAuthorities(){
-        try{
-            authorityRepository.save(new Authority("ROLE_ADMINISTRATOR", "ADMINISTRATIVE"));
-            authorityRepository.save(new Authority("ROLE_USER", "BUSINESS_USER"));
-            authorityRepository.save(new Authority("ROLE_ACCOUNTANT", "BUSINESS_USER"));
-        } catch (Exception e) {
+        Set<String> existing = new HashSet<>();
+        authorityRepository.findAll().forEach(authority -> existing.add(authority.getRole()));
 
+        List<Authority> missing = new ArrayList<>();
+        for (Role role : Role.values()) {
+            if (!existing.contains(role.authority())) {
+                missing.add(new Authority(role.authority(), role.group(), role.bit()));
+            }
         }
+        if (!missing.isEmpty()) authorityRepository.saveAll(missing);
     }
 
 }
@@ -1,15 +1,24 @@
 package account;
 
 import account.exceptionhandler.exception.AccessDeniedExceptionHandler;
+import account.jfr.FlightRecordedAuthenticationProvider;
+import account.logging.AuthenticatedUserFilter;
+import account.metrics.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
@@ -22,6 +31,20 @@ public class SecurityConfig {
         this.restAuthenticationEntryPoint = restAuthenticationEntryPoint;
     }
 
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(13), meterRegistry, "user-service");
+    }
+
+    @Bean
+    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                            PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new FlightRecordedAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return provider;
+    }
+
     @Bean
     public AccessDeniedHandler accessDeniedHandler(){ return new AccessDeniedExceptionHandler(); }
 
@@ -39,22 +62,35 @@ public class SecurityConfig {
                         .hasAnyAuthority("ROLE_USER","ROLE_ACCOUNTANT")
                         .requestMatchers(HttpMethod.GET, "/api/admin/user/**")
                         .hasAuthority("ROLE_ADMINISTRATOR")
+                        .requestMatchers(HttpMethod.GET, "/api/admin/events/**")
+                        .hasAuthority("ROLE_ADMINISTRATOR")
+                        .requestMatchers("/api/admin/jfr/**", "/api/admin/jfr")
+                        .hasAuthority("ROLE_ADMINISTRATOR")
                         .requestMatchers(HttpMethod.POST, "/api/auth/changepass")
                         .hasAnyAuthority("ROLE_USER", "ROLE_ACCOUNTANT", "ROLE_ADMINISTRATOR")
                         .requestMatchers(HttpMethod.POST, "/api/acct/payments")
                         .hasAuthority("ROLE_ACCOUNTANT")
                         .requestMatchers(HttpMethod.PUT, "/api/acct/payments")
                         .hasAuthority("ROLE_ACCOUNTANT")
+                        .requestMatchers(HttpMethod.POST, "/api/acct/payments/close")
+                        .hasAuthority("ROLE_ACCOUNTANT")
+                        .requestMatchers(HttpMethod.POST, "/api/acct/payments/adjust")
+                        .hasAuthority("ROLE_ACCOUNTANT")
                         .requestMatchers(HttpMethod.PUT, "/api/admin/user/role")
                         .hasAuthority("ROLE_ADMINISTRATOR")
+                        .requestMatchers(HttpMethod.PUT, "/api/admin/user/roles")
+                        .hasAuthority("ROLE_ADMINISTRATOR")
                         .requestMatchers(HttpMethod.DELETE, "/api/admin/user/**")
                         .hasAuthority("ROLE_ADMINISTRATOR")
+                        .requestMatchers(HttpMethod.POST, "/api/admin/user/deprovision")
+                        .hasAuthority("ROLE_ADMINISTRATOR")
                         .anyRequest().permitAll()
             )
                 .exceptionHandling().accessDeniedHandler(accessDeniedHandler())
                 .and()
             .sessionManagement(
-                sessions -> sessions.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+                sessions -> sessions.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterAfter(new AuthenticatedUserFilter(), BasicAuthenticationFilter.class);
         return http.build();
     }
 
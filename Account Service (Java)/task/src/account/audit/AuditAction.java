@@ -0,0 +1,15 @@
+package account.audit;
+
+public enum AuditAction {
+    LOGIN_SUCCESS,
+    LOGIN_FAILED,
+    CREATE_USER,
+    DELETE_USER,
+    GRANT_ROLE,
+    REMOVE_ROLE,
+    CHANGE_PASSWORD,
+    POST_PAYMENT,
+    UPDATE_PAYMENT,
+    CLOSE_PERIOD,
+    ADJUST_SALARIES
+}
@@ -0,0 +1,57 @@
+package account.audit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RestController
+public class AuditController {
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofDays(30);
+
+    @Autowired
+    AuditQueryService auditQueryService;
+
+    @GetMapping(path = "/api/admin/events")
+    public ResponseEntity<?> getEvents(
+        @RequestParam Optional<String> subject,
+        @RequestParam Optional<AuditAction> action,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> to,
+        @RequestParam Optional<String> cursor,
+        @RequestParam(defaultValue = "100") int limit) {
+        LocalDateTime end = to.orElseGet(LocalDateTime::now);
+        return auditQueryService.handleGetPage(subject.orElse(null), action.orElse(null),
+            from.orElse(end.minus(DEFAULT_WINDOW)), end, cursor.orElse(null), limit);
+    }
+
+    @GetMapping(path = "/api/admin/events/export")
+    public ResponseEntity<?> exportEvents(
+        @RequestParam Optional<String> subject,
+        @RequestParam Optional<AuditAction> action,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> to) {
+        LocalDateTime end = to.orElseGet(LocalDateTime::now);
+        return auditQueryService.handleExport(subject.orElse(null), action.orElse(null),
+            from.orElse(end.minus(DEFAULT_WINDOW)), end);
+    }
+
+    @GetMapping(path = "/api/admin/events/histogram")
+    public ResponseEntity<?> getHistogram(
+        @RequestParam Optional<String> subject,
+        @RequestParam Optional<AuditAction> action,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> to,
+        @RequestParam(defaultValue = "PT1H") String bucket) {
+        LocalDateTime end = to.orElseGet(LocalDateTime::now);
+        return auditQueryService.handleGetHistogram(subject.orElse(null), action.orElse(null),
+            from.orElse(end.minus(DEFAULT_WINDOW)), end, bucket);
+    }
+}
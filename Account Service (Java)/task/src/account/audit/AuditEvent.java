@@ -0,0 +1,66 @@
+package account.audit;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "audit_events")
+public class AuditEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "occurred_at")
+    private LocalDateTime date;
+
+    @Column(name = "action")
+    @Enumerated(EnumType.STRING)
+    private AuditAction action;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "object_name")
+    private String object;
+
+    @Column(name = "path")
+    private String path;
+
+    public AuditEvent() {
+    }
+
+    public AuditEvent(LocalDateTime date, AuditAction action, String subject, String object, String path) {
+        this.date = date;
+        this.action = action;
+        this.subject = subject;
+        this.object = object;
+        this.path = path;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public AuditAction getAction() {
+        return action;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getObject() {
+        return object;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,95 @@
+package account.audit;
+
+import account.audit.dto.AuditEventDto;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface AuditEventRepository extends CrudRepository<AuditEvent, Long> {
+
+    String SELECT_DTO = "select new account.audit.dto.AuditEventDto(e.id, e.date, e.action, e.subject, e.object, e.path) "
+        + "from AuditEvent e ";
+    String IN_WINDOW = "e.date >= :from and e.date < :to ";
+    String BEFORE_CURSOR = "and (e.date < :cursorDate or (e.date = :cursorDate and e.id < :cursorId)) ";
+    String NEWEST_FIRST = "order by e.date desc, e.id desc";
+    String OLDEST_FIRST = "order by e.date, e.id";
+    String SELECT_BUCKET = "SELECT DATEDIFF(SECOND, TIMESTAMP '1970-01-01 00:00:00', occurred_at) / :bucketSeconds "
+        + "AS bucket, COUNT(*) FROM audit_events ";
+    String IN_NATIVE_WINDOW = "occurred_at >= :from AND occurred_at < :to ";
+    String BY_BUCKET = "GROUP BY bucket ORDER BY bucket";
+
+    @Query(SELECT_DTO + "where " + IN_WINDOW + BEFORE_CURSOR + NEWEST_FIRST)
+    List<AuditEventDto> findPage(
+        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+        @Param("cursorDate") LocalDateTime cursorDate, @Param("cursorId") Long cursorId, Pageable page);
+
+    @Query(SELECT_DTO + "where e.subject = :subject and " + IN_WINDOW + BEFORE_CURSOR + NEWEST_FIRST)
+    List<AuditEventDto> findPageBySubject(
+        @Param("subject") String subject, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+        @Param("cursorDate") LocalDateTime cursorDate, @Param("cursorId") Long cursorId, Pageable page);
+
+    @Query(SELECT_DTO + "where e.action = :action and " + IN_WINDOW + BEFORE_CURSOR + NEWEST_FIRST)
+    List<AuditEventDto> findPageByAction(
+        @Param("action") AuditAction action, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+        @Param("cursorDate") LocalDateTime cursorDate, @Param("cursorId") Long cursorId, Pageable page);
+
+    @Query(SELECT_DTO + "where e.subject = :subject and e.action = :action and " + IN_WINDOW + BEFORE_CURSOR
+        + NEWEST_FIRST)
+    List<AuditEventDto> findPageBySubjectAndAction(
+        @Param("subject") String subject, @Param("action") AuditAction action,
+        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+        @Param("cursorDate") LocalDateTime cursorDate, @Param("cursorId") Long cursorId, Pageable page);
+
+    // Export and histogram get one query per filter combination too, like the pages: an optional
+    // filter written as (:subject = '' or ...) cannot use the subject or action index.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + "where " + IN_WINDOW + OLDEST_FIRST)
+    Stream<AuditEventDto> streamWindow(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + "where e.subject = :subject and " + IN_WINDOW + OLDEST_FIRST)
+    Stream<AuditEventDto> streamWindowBySubject(
+        @Param("subject") String subject, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + "where e.action = :action and " + IN_WINDOW + OLDEST_FIRST)
+    Stream<AuditEventDto> streamWindowByAction(
+        @Param("action") AuditAction action, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + "where e.subject = :subject and e.action = :action and " + IN_WINDOW + OLDEST_FIRST)
+    Stream<AuditEventDto> streamWindowBySubjectAndAction(
+        @Param("subject") String subject, @Param("action") AuditAction action,
+        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(nativeQuery = true, value = SELECT_BUCKET + "WHERE " + IN_NATIVE_WINDOW + BY_BUCKET)
+    List<Object[]> countByBucket(
+        @Param("bucketSeconds") long bucketSeconds, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(nativeQuery = true, value = SELECT_BUCKET + "WHERE subject = :subject AND " + IN_NATIVE_WINDOW + BY_BUCKET)
+    List<Object[]> countByBucketForSubject(
+        @Param("bucketSeconds") long bucketSeconds, @Param("subject") String subject,
+        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(nativeQuery = true, value = SELECT_BUCKET + "WHERE action = :action AND " + IN_NATIVE_WINDOW + BY_BUCKET)
+    List<Object[]> countByBucketForAction(
+        @Param("bucketSeconds") long bucketSeconds, @Param("action") String action,
+        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(nativeQuery = true, value = SELECT_BUCKET + "WHERE subject = :subject AND action = :action AND "
+        + IN_NATIVE_WINDOW + BY_BUCKET)
+    List<Object[]> countByBucketForSubjectAndAction(
+        @Param("bucketSeconds") long bucketSeconds, @Param("subject") String subject, @Param("action") String action,
+        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,182 @@
+package account.audit;
+
+import account.audit.dto.AuditBucketDto;
+import account.audit.dto.AuditEventDto;
+import account.audit.dto.AuditEventPageDto;
+import account.exceptionhandler.ErrorCode;
+import account.exceptionhandler.exception.InvalidQueryException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class AuditQueryService {
+
+    private static final int MAX_PAGE_SIZE = 1000; // named in ErrorCode.INVALID_LIMIT
+    private static final int MAX_BUCKETS = 10_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    AuditEventRepository auditEventRepository;
+    TransactionTemplate transactionTemplate;
+    ObjectWriter lineWriter;
+
+    @Autowired
+    public AuditQueryService(AuditEventRepository auditEventRepository, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.auditEventRepository = auditEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.lineWriter = objectMapper.writer()
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .withRootValueSeparator("\n");
+    }
+
+    //Business logic
+
+    public ResponseEntity<AuditEventPageDto> handleGetPage(String subject, AuditAction action, LocalDateTime from,
+                                                           LocalDateTime to, String cursor, int limit) {
+        validateWindow(from, to);
+        validateLimit(limit);
+        LocalDateTime cursorDate = to;
+        long cursorId = Long.MAX_VALUE;
+        if (cursor != null) {
+            int separator = cursor.lastIndexOf('_');
+            try {
+                cursorDate = LocalDateTime.parse(cursor.substring(0, separator));
+                cursorId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+                throw new InvalidQueryException(ErrorCode.INVALID_CURSOR);
+            }
+        }
+
+        Pageable page = PageRequest.ofSize(limit);
+        List<AuditEventDto> events;
+        if (subject != null && action != null) {
+            events = auditEventRepository.findPageBySubjectAndAction(subject.toLowerCase(), action, from, to,
+                    cursorDate, cursorId, page);
+        } else if (subject != null) {
+            events = auditEventRepository.findPageBySubject(subject.toLowerCase(), from, to, cursorDate, cursorId, page);
+        } else if (action != null) {
+            events = auditEventRepository.findPageByAction(action, from, to, cursorDate, cursorId, page);
+        } else {
+            events = auditEventRepository.findPage(from, to, cursorDate, cursorId, page);
+        }
+
+        String next = null;
+        if (events.size() == limit) {
+            AuditEventDto last = events.get(events.size() - 1);
+            next = last.date() + "_" + last.id();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new AuditEventPageDto(events.toArray(new AuditEventDto[0]), next));
+    }
+
+    public ResponseEntity<StreamingResponseBody> handleExport(String subject, AuditAction action,
+                                                              LocalDateTime from, LocalDateTime to) {
+        validateWindow(from, to);
+        StreamingResponseBody body = outputStream -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AuditEventDto> events = streamWindow(subject, action, from, to)) {
+                writeLines(events, outputStream);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    public ResponseEntity<AuditBucketDto[]> handleGetHistogram(String subject, AuditAction action, LocalDateTime from,
+                                                               LocalDateTime to, String bucket) {
+        validateWindow(from, to);
+        long bucketSeconds = parseBucket(bucket).getSeconds();
+        if (bucketSeconds < 1 || Duration.between(from, to).getSeconds() / bucketSeconds > MAX_BUCKETS) {
+            throw new InvalidQueryException(ErrorCode.INVALID_BUCKET);
+        }
+        AuditBucketDto[] buckets = countByBucket(bucketSeconds, subject, action, from, to)
+            .stream()
+            .map(row -> new AuditBucketDto(
+                EPOCH.plusSeconds(((Number) row[0]).longValue() * bucketSeconds),
+                ((Number) row[1]).longValue()))
+            .toArray(AuditBucketDto[]::new);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(buckets);
+    }
+
+    //Helper Methods
+
+    private Stream<AuditEventDto> streamWindow(String subject, AuditAction action, LocalDateTime from,
+                                               LocalDateTime to) {
+        if (subject != null && action != null) {
+            return auditEventRepository.streamWindowBySubjectAndAction(subject.toLowerCase(), action, from, to);
+        } else if (subject != null) {
+            return auditEventRepository.streamWindowBySubject(subject.toLowerCase(), from, to);
+        } else if (action != null) {
+            return auditEventRepository.streamWindowByAction(action, from, to);
+        }
+        return auditEventRepository.streamWindow(from, to);
+    }
+
+    private List<Object[]> countByBucket(long bucketSeconds, String subject, AuditAction action,
+                                         LocalDateTime from, LocalDateTime to) {
+        if (subject != null && action != null) {
+            return auditEventRepository.countByBucketForSubjectAndAction(bucketSeconds, subject.toLowerCase(),
+                    action.name(), from, to);
+        } else if (subject != null) {
+            return auditEventRepository.countByBucketForSubject(bucketSeconds, subject.toLowerCase(), from, to);
+        } else if (action != null) {
+            return auditEventRepository.countByBucketForAction(bucketSeconds, action.name(), from, to);
+        }
+        return auditEventRepository.countByBucket(bucketSeconds, from, to);
+    }
+
+    private void writeLines(Stream<AuditEventDto> events, OutputStream outputStream) {
+        try (SequenceWriter lines = lineWriter.writeValues(new BufferedOutputStream(outputStream, 16 * 1024))) {
+            for (AuditEventDto event : (Iterable<AuditEventDto>) events::iterator) {
+                lines.write(event);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Duration parseBucket(String bucket) {
+        try {
+            return Duration.parse(bucket);
+        } catch (DateTimeParseException e) {
+            throw new InvalidQueryException(ErrorCode.INVALID_BUCKET);
+        }
+    }
+
+    //Validation Methods
+
+    public void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) throw new InvalidQueryException(ErrorCode.EMPTY_WINDOW);
+    }
+
+    public void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidQueryException(ErrorCode.INVALID_LIMIT);
+        }
+    }
+}
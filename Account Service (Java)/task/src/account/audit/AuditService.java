@@ -0,0 +1,148 @@
+package account.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Service
+public class AuditService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+    private static final String ANONYMOUS = "Anonymous";
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final boolean strict;
+    private final int batchSize;
+    private final long idleParkNanos;
+
+    private final Counter published;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Timer batchWrite;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public AuditService(AuditEventRepository auditEventRepository, MeterRegistry meterRegistry,
+                        @Value("${audit.strict:false}") boolean strict,
+                        @Value("${audit.buffer.capacity:8192}") int capacity,
+                        @Value("${audit.batch.size:256}") int batchSize,
+                        @Value("${audit.batch.idle-millis:50}") long idleMillis) {
+        this.auditEventRepository = auditEventRepository;
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.strict = strict;
+        this.batchSize = batchSize;
+        this.idleParkNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+
+        this.published = meterRegistry.counter("audit.events.published");
+        this.written = meterRegistry.counter("audit.events.written");
+        this.dropped = meterRegistry.counter("audit.events.dropped");
+        this.failed = meterRegistry.counter("audit.events.failed");
+        this.batchWrite = meterRegistry.timer("audit.batch.write");
+        Gauge.builder("audit.buffer.depth", buffer, AuditRingBuffer::size).register(meterRegistry);
+        Gauge.builder("audit.buffer.capacity", buffer, AuditRingBuffer::capacity).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startWriter() {
+        if (strict) return;
+        running = true;
+        writer = new Thread(this::drainLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stopWriter() throws InterruptedException {
+        if (writer == null) return;
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    //Publishing
+
+    public void publish(AuditAction action, String object) {
+        publish(action, currentSubject(), object);
+    }
+
+    public void publish(AuditAction action, String subject, String object) {
+        AuditEvent event = new AuditEvent(LocalDateTime.now(), action, subject, object, currentPath());
+        published.increment();
+        if (strict) {
+            auditEventRepository.save(event);
+            written.increment();
+            return;
+        }
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    //Background writer
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(idleParkNanos);
+                continue;
+            }
+            writeBatch(batch);
+        }
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        try {
+            batchWrite.record(() -> auditEventRepository.saveAll(batch));
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.warn("Dropped {} audit events after failed batch insert", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    //Helper Methods
+
+    public String currentSubject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS;
+        }
+        return authentication.getName();
+    }
+
+    private String currentPath() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRequestURI();
+        }
+        return null;
+    }
+}
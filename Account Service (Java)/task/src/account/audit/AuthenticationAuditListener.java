@@ -0,0 +1,30 @@
+package account.audit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuthenticationAuditListener {
+
+    AuditService auditService;
+
+    @Autowired
+    public AuthenticationAuditListener(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    @EventListener
+    public void onSuccess(AuthenticationSuccessEvent event) {
+        String email = event.getAuthentication().getName();
+        auditService.publish(AuditAction.LOGIN_SUCCESS, email, email);
+    }
+
+    @EventListener
+    public void onFailure(AbstractAuthenticationFailureEvent event) {
+        String email = String.valueOf(event.getAuthentication().getName()).toLowerCase();
+        auditService.publish(AuditAction.LOGIN_FAILED, email, email);
+    }
+}
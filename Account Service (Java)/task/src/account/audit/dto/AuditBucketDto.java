@@ -0,0 +1,6 @@
+package account.audit.dto;
+
+import java.time.LocalDateTime;
+
+public record AuditBucketDto(LocalDateTime start, long count) {
+}
@@ -0,0 +1,9 @@
+package account.audit.dto;
+
+import account.audit.AuditAction;
+
+import java.time.LocalDateTime;
+
+public record AuditEventDto(
+    Long id, LocalDateTime date, AuditAction action, String subject, String object, String path) {
+}
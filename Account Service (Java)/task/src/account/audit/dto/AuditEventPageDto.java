@@ -0,0 +1,4 @@
+package account.audit.dto;
+
+public record AuditEventPageDto(AuditEventDto[] events, String next) {
+}
@@ -1,12 +1,9 @@
 package account.authority;
 
-import account.user.User;
 import jakarta.persistence.*;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
-
 
+// Persisted copy of the Role catalog, so the bits in users.roles can be decoded in SQL as well.
 @Entity
 @Table(name = "authorities")
 public class Authority {
@@ -23,13 +20,14 @@ public class Authority {
     @Column
     private String roleGroup;
 
-    @ManyToMany(mappedBy = "authorities", fetch = FetchType.EAGER)
-    private Set<User> users = new LinkedHashSet<>();
+    @Column (name = "role_bit")
+    private Integer roleBit;
 
     public Authority(){};
-    public Authority(String role, String roleGroup){
+    public Authority(String role, String roleGroup, Integer roleBit){
         this.role = role;
         this.roleGroup = roleGroup;
+        this.roleBit = roleBit;
     }
 
     public String getRole() {
@@ -48,7 +46,11 @@ public class Authority {
         this.roleGroup = roleGroup;
     }
 
-    public Set<User> getUsers() {
-        return users;
+    public Integer getRoleBit() {
+        return roleBit;
+    }
+
+    public void setRoleBit(Integer roleBit) {
+        this.roleBit = roleBit;
     }
 }
@@ -4,11 +4,6 @@ import account.authority.Authority;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
 public interface AuthorityRepository extends CrudRepository<Authority, Long> {
-    Optional<Authority> findByRole(String role);
-
-    boolean existsByRole(String role);
 }
@@ -1,60 +1,35 @@
 package account.authority;
 
-import account.authority.request.RoleChangeRequest;
+import account.exceptionhandler.ErrorCode;
 import account.exceptionhandler.exception.InvalidChangeException;
 import account.exceptionhandler.exception.NotFoundException;
-import account.user.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
-import java.util.stream.Collectors;
-
 @Service
 public class AuthorityService {
 
-    @Autowired
-    UserRepository userRepository;
-    @Autowired
-    AuthorityRepository authorityRepository;
-
-    public Set<Authority> setAuthority(){
-        return userRepository.count() > 0 ?
-                Set.of(getAuthoritybyRole("ROLE_USER")):Set.of(getAuthoritybyRole("ROLE_ADMINISTRATOR"));
-    }
-
-    public Authority getAuthoritybyRole(String role){
-        return authorityRepository.findByRole(role)
-        .orElseThrow(() -> new RuntimeException("Not found"));
+    public int initialRoles(boolean administrator){
+        return administrator ? Role.ADMINISTRATOR.bit() : Role.USER.bit();
     }
 
-    public Set<Authority> modifyUserAuthority (Set<Authority> currentAuthority, RoleChangeRequest request) {
-        Authority authorityToDelete = getAuthoritybyRole(request.role());
-        return currentAuthority.stream()
-                .filter(authority -> !authority.equals(authorityToDelete))
-                .collect(Collectors.toSet());
-    }
-
-    public void validateNoRoleConflict(Set<Authority> currentAuthorities, Authority newAuthority) {
-        for (Authority authority : currentAuthorities) {
-            if (!authority.getRoleGroup().equalsIgnoreCase(newAuthority.getRoleGroup()))
-                throw new InvalidChangeException("The user cannot combine administrative and business roles!");
-        }
+    public Role getRole(String role){
+        return Role.fromAuthority(role)
+        .orElseThrow(() -> new NotFoundException(ErrorCode.ROLE_NOT_FOUND));
     }
 
-    public void validateRoleExists(String role) {
-        if (!authorityRepository.existsByRole(role)) throw new NotFoundException("Role not found!");
+    public void validateNoRoleConflict(int currentRoles, Role newRole) {
+        if (RoleMask.conflicts(currentRoles, newRole)) throw new InvalidChangeException(ErrorCode.ROLE_GROUP_CONFLICT);
     }
 
-    public void validateRoleRemoval(RoleChangeRequest request, Set<Authority> currentAuthorities) {
-        if (request.role().equalsIgnoreCase("ROLE_ADMINISTRATOR")) {
-            throw new InvalidChangeException("Can't remove ADMINISTRATOR role!");
+    public void validateRoleRemoval(Role role, int currentRoles) {
+        if (role == Role.ADMINISTRATOR) {
+            throw new InvalidChangeException(ErrorCode.ADMINISTRATOR_REMOVAL);
         }
-        if (!currentAuthorities.contains(getAuthoritybyRole(request.role()))) {
-            throw new InvalidChangeException("The user does not have a role!");
+        if (!RoleMask.has(currentRoles, role)) {
+            throw new InvalidChangeException(ErrorCode.ROLE_NOT_GRANTED);
         }
-        if (currentAuthorities.size() < 2) {
-            throw new InvalidChangeException("The user must have at least one role!");
+        if (Integer.bitCount(currentRoles) < 2) {
+            throw new InvalidChangeException(ErrorCode.LAST_ROLE);
         }
     }
 }
@@ -0,0 +1,40 @@
+package account.authority;
+
+import java.util.Optional;
+
+// The role catalog. Each role owns one bit of users.roles; the bits are persisted (and mirrored in
+// authorities.role_bit), so never renumber an existing role, only add new ones.
+public enum Role {
+    ADMINISTRATOR(1, "ADMINISTRATIVE"),
+    USER(1 << 1, "BUSINESS_USER"),
+    ACCOUNTANT(1 << 2, "BUSINESS_USER");
+
+    private final int bit;
+    private final String group;
+    private final String authority;
+
+    Role(int bit, String group) {
+        this.bit = bit;
+        this.group = group;
+        this.authority = "ROLE_" + name();
+    }
+
+    public int bit() {
+        return bit;
+    }
+
+    public String group() {
+        return group;
+    }
+
+    public String authority() {
+        return authority;
+    }
+
+    public static Optional<Role> fromAuthority(String authority) {
+        for (Role role : values()) {
+            if (role.authority.equals(authority)) return Optional.of(role);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,61 @@
+package account.authority;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Everything derived from a users.roles value, computed once for every possible mask so that role
+// names, granted authorities and group checks are array lookups and bit operations on the hot paths.
+public final class RoleMask {
+
+    private static final Role[] ROLES = Role.values();
+    private static final int MASKS = 1 << ROLES.length;
+
+    private static final String[][] NAMES = new String[MASKS][];
+    private static final List<List<GrantedAuthority>> AUTHORITIES = new ArrayList<>(MASKS);
+    private static final int[] SAME_GROUP = new int[ROLES.length];
+
+    static {
+        for (int mask = 0; mask < MASKS; mask++) {
+            List<String> names = new ArrayList<>();
+            for (Role role : ROLES) {
+                if ((mask & role.bit()) != 0) names.add(role.authority());
+            }
+            String[] sorted = names.toArray(new String[0]);
+            Arrays.sort(sorted);
+            NAMES[mask] = sorted;
+            AUTHORITIES.add(Arrays.stream(sorted)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList());
+        }
+        for (Role role : ROLES) {
+            for (Role other : ROLES) {
+                if (other.group().equals(role.group())) SAME_GROUP[role.ordinal()] |= other.bit();
+            }
+        }
+    }
+
+    private RoleMask() {
+    }
+
+    // Sorted authority names. The array is shared between all users with the same roles: read only.
+    public static String[] names(int mask) {
+        return NAMES[mask];
+    }
+
+    public static List<GrantedAuthority> authorities(int mask) {
+        return AUTHORITIES.get(mask);
+    }
+
+    public static boolean has(int mask, Role role) {
+        return (mask & role.bit()) != 0;
+    }
+
+    // True when the mask holds a role from another group than the given role's.
+    public static boolean conflicts(int mask, Role role) {
+        return (mask & ~SAME_GROUP[role.ordinal()]) != 0;
+    }
+}
@@ -0,0 +1,92 @@
+package account.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Listens for jdk.VirtualThreadPinned, which the JVM emits when a virtual thread blocks while holding a
+// monitor (synchronized) or inside native code and therefore keeps its carrier thread occupied.
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class PinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @Autowired
+    public PinningMonitor(MeterRegistry meterRegistry,
+                          @Value("${threads.virtual.pinning-threshold-millis:20}") long thresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!VirtualThreads.isSupported()) return;
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) stream.close();
+    }
+
+    @ReadOperation
+    public Map<String, Long> pinnedSites() {
+        Map<String, Long> report = new TreeMap<>();
+        pinnedSites.forEach((site, count) -> report.put(site, count.sum()));
+        return report;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = pinnedSite(event.getStackTrace());
+        pinnedSites.computeIfAbsent(site, key -> new LongAdder()).increment();
+        meterRegistry.counter("threads.virtual.pinned", "site", site).increment();
+        meterRegistry.timer("threads.virtual.pinned.duration").record(event.getDuration());
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+    }
+
+    // Prefers the first frame from this service so the report points at our synchronized call site
+    // rather than at the JDK or driver internals underneath it.
+    private String pinnedSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) return "unknown";
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith("account.")) {
+                return describe(frame);
+            }
+        }
+        return describe(top);
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
@@ -0,0 +1,46 @@
+package account.concurrency;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private final ExecutorService executor;
+
+    public VirtualThreadConfig() {
+        this.executor = VirtualThreads.newVirtualThreadPerTaskExecutor().orElse(null);
+        if (executor == null) {
+            log.warn("threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                Runtime.version().feature());
+        }
+    }
+
+    // Requests are dispatched on a fresh virtual thread each, so the blocking JPA/JDBC calls made
+    // from UserRepository and PaymentRepository park the virtual thread instead of a Tomcat worker.
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (executor != null) protocolHandler.setExecutor(executor);
+        };
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return executor != null ? new TaskExecutorAdapter(executor) : new SimpleAsyncTaskExecutor("task-");
+    }
+}
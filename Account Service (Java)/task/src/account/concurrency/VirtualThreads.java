@@ -0,0 +1,38 @@
+package account.concurrency;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// The service is compiled against Java 17, so virtual threads are looked up reflectively and are only
+// available when the runtime provides them (Java 21, or 19/20 with --enable-preview).
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null));
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof UnsupportedOperationException) return Optional.empty();
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
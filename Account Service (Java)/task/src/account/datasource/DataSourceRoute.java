@@ -0,0 +1,6 @@
+package account.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,70 @@
+package account.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Remembers who wrote recently so their read-only transactions stay on the primary until the replica
+// has had time to catch up with their own changes.
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+    private static final ThreadLocal<String> SUBJECT = new ThreadLocal<>();
+
+    private final long windowNanos;
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Value("${datasource.read-your-writes.window-millis:5000}") long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    public void markWritten(String email) {
+        if (email == null || windowNanos <= 0) return;
+        long now = System.nanoTime();
+        primaryUntil.put(email.toLowerCase(), now + windowNanos);
+        if (primaryUntil.size() > PURGE_THRESHOLD) {
+            primaryUntil.values().removeIf(deadline -> deadline - now < 0);
+        }
+    }
+
+    public void markCurrentSubjectWritten() {
+        markWritten(currentSubject());
+    }
+
+    public boolean mustReadPrimary() {
+        String subject = currentSubject();
+        if (subject == null) return false;
+        Long deadline = primaryUntil.get(subject.toLowerCase());
+        if (deadline == null) return false;
+        if (deadline - System.nanoTime() > 0) return true;
+        primaryUntil.remove(subject.toLowerCase(), deadline);
+        return false;
+    }
+
+    // Authentication happens before the security context is populated, so the user being loaded is
+    // passed explicitly for the duration of the lookup.
+    public <T> T readAs(String email, Supplier<T> read) {
+        String previous = SUBJECT.get();
+        SUBJECT.set(email);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) SUBJECT.remove();
+            else SUBJECT.set(previous);
+        }
+    }
+
+    private String currentSubject() {
+        String subject = SUBJECT.get();
+        if (subject != null) return subject;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,50 @@
+package account.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Objects;
+
+// Flyway migrates the primary only, and nothing in the application writes to a replica; something
+// outside it (database replication) has to keep datasource.replica.url in step with the primary. A
+// replica that is not would fail every read-only transaction, logins included, so its schema version
+// is compared with the primary's once the migrations have run and a mismatch stops startup.
+@Component
+public class ReplicaSchemaCheck implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSchemaCheck.class);
+
+    private final HikariDataSource primaryDataSource;
+    private final HikariDataSource replicaDataSource;
+
+    public ReplicaSchemaCheck(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        this.primaryDataSource = primaryDataSource;
+        this.replicaDataSource = replicaDataSource;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (Objects.equals(primaryDataSource.getJdbcUrl(), replicaDataSource.getJdbcUrl())) return;
+        String primaryVersion = schemaVersion(primaryDataSource);
+        String replicaVersion = schemaVersion(replicaDataSource);
+        if (!primaryVersion.equals(replicaVersion)) {
+            throw new IllegalStateException("Replica " + replicaDataSource.getJdbcUrl() + " is at schema version "
+                + replicaVersion + " but the primary is at " + primaryVersion
+                + "; the replica must be replicated from the primary");
+        }
+        log.info("Replica {} is at schema version {}", replicaDataSource.getJdbcUrl(), replicaVersion);
+    }
+
+    //Helper Methods
+
+    private static String schemaVersion(DataSource dataSource) {
+        MigrationInfo current = Flyway.configure().dataSource(dataSource).load().info().current();
+        return current == null ? "none" : current.getVersion().getVersion();
+    }
+}
@@ -0,0 +1,57 @@
+package account.exceptionhandler;
+
+import org.springframework.http.HttpStatus;
+
+// Every fixed error the service reports. Status, reason phrase and message are resolved once here, so
+// raising and rendering one of these errors does no string work at all.
+public enum ErrorCode {
+
+    USER_EXISTS(HttpStatus.BAD_REQUEST, "User exist!"),
+    USER_NOT_FOUND(HttpStatus.NOT_FOUND, "User not found!"),
+    ROLE_NOT_FOUND(HttpStatus.NOT_FOUND, "Role not found!"),
+    OPERATION_NOT_FOUND(HttpStatus.NOT_FOUND, ""),
+    PASSWORD_TOO_SHORT(HttpStatus.BAD_REQUEST, "Password length must be 12 chars minimum!"),
+    PASSWORD_NOT_CHANGED(HttpStatus.BAD_REQUEST, "The passwords must be different!"),
+    PASSWORD_BREACHED(HttpStatus.BAD_REQUEST, "The password is in the hacker's database!"),
+    ADMINISTRATOR_REMOVAL(HttpStatus.BAD_REQUEST, "Can't remove ADMINISTRATOR role!"),
+    ROLE_GROUP_CONFLICT(HttpStatus.BAD_REQUEST, "The user cannot combine administrative and business roles!"),
+    ROLE_NOT_GRANTED(HttpStatus.BAD_REQUEST, "The user does not have a role!"),
+    LAST_ROLE(HttpStatus.BAD_REQUEST, "The user must have at least one role!"),
+    PAYMENT_EXISTS(HttpStatus.BAD_REQUEST, "Cannot add duplicate payment"),
+    PAYMENT_NOT_FOUND(HttpStatus.BAD_REQUEST, "Payment not found!"),
+    NEGATIVE_SALARY(HttpStatus.BAD_REQUEST, "Salary cannot be negative!"),
+    PERIOD_CLOSED(HttpStatus.BAD_REQUEST, "The payroll period is closed!"),
+    PERIOD_EMPTY(HttpStatus.BAD_REQUEST, "The payroll period has no payments!"),
+    INVALID_ADJUSTMENT(HttpStatus.BAD_REQUEST, "Give either a percent or an amount!"),
+    INVALID_LIMIT(HttpStatus.BAD_REQUEST, "Limit must be between 1 and 1000!"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "Invalid cursor!"),
+    INVALID_BUCKET(HttpStatus.BAD_REQUEST, "Invalid bucket size!"),
+    EMPTY_WINDOW(HttpStatus.BAD_REQUEST, "The time window is empty!"),
+    INVALID_MAX_AGE(HttpStatus.BAD_REQUEST, "Invalid max age!"),
+    MAX_AGE_OUT_OF_RANGE(HttpStatus.BAD_REQUEST, "Max age must be longer than PT0S and at most PT6H!"),
+    RECORDING_RUNNING(HttpStatus.BAD_REQUEST, "A recording is already running!"),
+    RECORDING_NOT_RUNNING(HttpStatus.BAD_REQUEST, "No recording is running!"),
+    RECORDER_UNAVAILABLE(HttpStatus.BAD_REQUEST, "Flight recorder is not available!");
+
+    private final HttpStatus status;
+    private final String error;
+    private final String message;
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.error = status.getReasonPhrase();
+        this.message = message;
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public String error() {
+        return error;
+    }
+
+    public String message() {
+        return message;
+    }
+}
@@ -1,8 +1,8 @@
 package account.exceptionhandler;
 
-import account.exceptionhandler.CustomErrorMessage;
-import account.exceptionhandler.exception.*;
+import account.exceptionhandler.exception.DomainException;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -11,7 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
@@ -22,65 +22,35 @@ import java.time.LocalDateTime;
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private static final String BAD_REQUEST = HttpStatus.BAD_REQUEST.getReasonPhrase();
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
         MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
-        return new ResponseEntity<>(buildErrorMessage(extractValidationMessage(ex), request), status);
+        String message = ValidationMessages.of(ex.getBindingResult());
+        return new ResponseEntity<>(
+            buildErrorMessage(HttpStatus.BAD_REQUEST.value(), BAD_REQUEST, message, request),
+            status);
     }
 
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<CustomErrorMessage> handleConstraintViolationException(
         ConstraintViolationException ex, WebRequest request) {
-        var violations = ex.getConstraintViolations();
-        StringBuilder builder = new StringBuilder();
-        String errorMessage = violations.stream()
-            .map(violation -> builder.append(" " + violation.getMessage()))
-            .toString();
-        return new ResponseEntity<>(buildErrorMessage(errorMessage, request), HttpStatus.BAD_REQUEST);
-    }
-
-    @ExceptionHandler(InsufficientPasswordException.class)
-    public ResponseEntity<CustomErrorMessage> handleInsufficientPasswordException(
-        InsufficientPasswordException ex, HttpStatus status, WebRequest request) {
-        return new ResponseEntity<>(buildErrorMessage(ex.getMessage(), request), status);
-    }
-
-    @ExceptionHandler(PaymentDoesNotExistException.class)
-    public ResponseEntity<CustomErrorMessage> handlePaymentDoesNotExistException(
-        PaymentDoesNotExistException ex, HttpStatus status, WebRequest request) {
-        return new ResponseEntity<>(buildErrorMessage(ex.getMessage(), request), status);
-    }
-
-    @ExceptionHandler(UserExistsException.class)
-    public ResponseEntity<CustomErrorMessage> handleUserExistsException(
-        UserExistsException ex, HttpStatus status, WebRequest request) {
-        return new ResponseEntity<>(buildErrorMessage(ex.getMessage(), request), status);
-    }
-
-    @ExceptionHandler(InvalidChangeException.class)
-    public ResponseEntity<CustomErrorMessage> handleInvalidChangeException(
-        InvalidChangeException ex, HttpStatus status, WebRequest request) {
-        return new ResponseEntity<>(buildErrorMessage(ex.getMessage(), request), status);
+        StringBuilder errorMessage = new StringBuilder();
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            if (!errorMessage.isEmpty()) errorMessage.append(' ');
+            errorMessage.append(violation.getMessage());
+        }
+        return new ResponseEntity<>(
+            buildErrorMessage(HttpStatus.BAD_REQUEST.value(), BAD_REQUEST, errorMessage.toString(), request),
+            HttpStatus.BAD_REQUEST);
     }
 
-
-    @ExceptionHandler(PaymentExistsException.class)
-    public ResponseEntity<CustomErrorMessage> handlePaymentExistsException(
-        PaymentExistsException ex, HttpStatus status, WebRequest request) {
-        return new ResponseEntity<>(buildErrorMessage(ex.getMessage(), request), status);
-    }
-
-    @ExceptionHandler(AuthorizationViolationException.class)
-    public ResponseEntity<CustomErrorMessage> handleAuthorizationViolationException(
-        AuthorizationViolationException ex, HttpStatus status, WebRequest request) {
-        return new ResponseEntity<>(buildErrorMessage(ex.getMessage(), request), status);
-    }
-
-    @ExceptionHandler(NotFoundException.class)
-    public ResponseEntity<CustomErrorMessage> handleNotFoundException(
-        NotFoundException ex, HttpStatus status, WebRequest request){
-        return new ResponseEntity<>(buildErrorMessage(ex.getMessage(), request), status);
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<CustomErrorMessage> handleDomainException(DomainException ex, WebRequest request) {
+        return new ResponseEntity<>(
+            buildErrorMessage(ex.getStatus().value(), ex.getError(), ex.getMessage(), request),
+            ex.getStatus());
     }
 
     @ExceptionHandler(AccessDeniedException.class)
@@ -88,20 +58,19 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         response.sendError(403, "Access Denied!");
     }
 
-    private String extractValidationMessage(Exception ex) {
-        String exceptionMessage = ex.getMessage();
-        String[] messageParts = exceptionMessage.split(";");
-        String validationMessage = messageParts[messageParts.length - 1];
-        return validationMessage.trim().replaceAll("default message \\[|]]", "");
-    }
-
-    private CustomErrorMessage buildErrorMessage(String errorMessage, WebRequest request) {
+    private CustomErrorMessage buildErrorMessage(int status, String error, String errorMessage, WebRequest request) {
         return new CustomErrorMessage(
             LocalDateTime.now(),
-            HttpStatus.BAD_REQUEST.value(),
-            "Bad Request",
+            status,
+            error,
             errorMessage,
-            request.getDescription(false).trim().replaceAll("uri=", ""));
+            requestPath(request));
+    }
+
+    private String requestPath(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest) return servletRequest.getRequest().getRequestURI();
+        String description = request.getDescription(false).trim();
+        return description.startsWith("uri=") ? description.substring("uri=".length()) : description;
     }
 
 }
@@ -0,0 +1,22 @@
+package account.exceptionhandler;
+
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+
+import java.util.List;
+
+// The message a failed @Valid body is reported with, kept apart from GlobalExceptionHandler so it can
+// be measured on its own.
+public final class ValidationMessages {
+
+    private ValidationMessages() {
+    }
+
+    // The last error's default message, which is what the tail of ex.getMessage() used to be cut down to.
+    public static String of(BindingResult bindingResult) {
+        List<ObjectError> errors = bindingResult.getAllErrors();
+        if (errors.isEmpty()) return "";
+        String validationMessage = errors.get(errors.size() - 1).getDefaultMessage();
+        return validationMessage == null ? "" : validationMessage.trim();
+    }
+}
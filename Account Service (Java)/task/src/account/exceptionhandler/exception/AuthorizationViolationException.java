@@ -1,11 +1,13 @@
 package account.exceptionhandler.exception;
 
-
+import account.exceptionhandler.ErrorCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(code = HttpStatus.FORBIDDEN)
-public class AuthorizationViolationException extends RuntimeException {
-    public AuthorizationViolationException(String message) { super(message); }
-}
+public class AuthorizationViolationException extends DomainException {
 
+    public AuthorizationViolationException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
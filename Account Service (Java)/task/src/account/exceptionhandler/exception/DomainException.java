@@ -0,0 +1,26 @@
+package account.exceptionhandler.exception;
+
+import account.exceptionhandler.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+// Business rule violations are expected control flow and always end as an error response, so the
+// stack trace is never looked at: skip capturing it, and skip suppression bookkeeping too.
+public abstract class DomainException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final String error;
+
+    protected DomainException(ErrorCode errorCode) {
+        super(errorCode.message(), null, false, false);
+        this.status = errorCode.status();
+        this.error = errorCode.error();
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -1,12 +1,13 @@
 package account.exceptionhandler.exception;
 
+import account.exceptionhandler.ErrorCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(code = HttpStatus.BAD_REQUEST)
-public class InsufficientPasswordException extends RuntimeException {
+public class InsufficientPasswordException extends DomainException {
 
-    public InsufficientPasswordException(String message) {
-        super(message);
+    public InsufficientPasswordException(ErrorCode errorCode) {
+        super(errorCode);
     }
 }
@@ -1,12 +1,13 @@
 package account.exceptionhandler.exception;
 
+import account.exceptionhandler.ErrorCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(code = HttpStatus.BAD_REQUEST)
-public class InvalidChangeException extends RuntimeException {
+public class InvalidChangeException extends DomainException {
 
-    public InvalidChangeException(String message) {
-        super(message);
+    public InvalidChangeException(ErrorCode errorCode) {
+        super(errorCode);
     }
 }
@@ -1,9 +1,13 @@
 package account.exceptionhandler.exception;
 
+import account.exceptionhandler.ErrorCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
-@ResponseStatus(HttpStatus.BAD_REQUEST)
-public class InvalidPaymentException extends RuntimeException {
-    public InvalidPaymentException(String message){super(message);}
+@ResponseStatus(code = HttpStatus.BAD_REQUEST)
+public class InvalidPaymentException extends DomainException {
+
+    public InvalidPaymentException(ErrorCode errorCode) {
+        super(errorCode);
+    }
 }
@@ -0,0 +1,13 @@
+package account.exceptionhandler.exception;
+
+import account.exceptionhandler.ErrorCode;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST)
+public class InvalidQueryException extends DomainException {
+
+    public InvalidQueryException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
@@ -1,10 +1,13 @@
 package account.exceptionhandler.exception;
 
+import account.exceptionhandler.ErrorCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
-@ResponseStatus(HttpStatus.NOT_FOUND)
-public class NotFoundException extends RuntimeException {
-    public NotFoundException(String message){super(message);}
-}
+@ResponseStatus(code = HttpStatus.NOT_FOUND)
+public class NotFoundException extends DomainException {
 
+    public NotFoundException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
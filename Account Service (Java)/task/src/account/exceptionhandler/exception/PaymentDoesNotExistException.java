@@ -1,11 +1,13 @@
 package account.exceptionhandler.exception;
 
+import account.exceptionhandler.ErrorCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(code = HttpStatus.BAD_REQUEST)
-public class PaymentDoesNotExistException extends RuntimeException{
-    public PaymentDoesNotExistException(String message) {
-        super(message);
+public class PaymentDoesNotExistException extends DomainException {
+
+    public PaymentDoesNotExistException(ErrorCode errorCode) {
+        super(errorCode);
     }
 }
@@ -1,12 +1,13 @@
 package account.exceptionhandler.exception;
 
+import account.exceptionhandler.ErrorCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(code = HttpStatus.BAD_REQUEST)
-public class PaymentExistsException extends RuntimeException {
-    public PaymentExistsException(String message) {
-        super(message);
-    }
+public class PaymentExistsException extends DomainException {
 
+    public PaymentExistsException(ErrorCode errorCode) {
+        super(errorCode);
+    }
 }
@@ -1,12 +1,13 @@
 package account.exceptionhandler.exception;
 
+import account.exceptionhandler.ErrorCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(code = HttpStatus.BAD_REQUEST)
-public class UserExistsException extends RuntimeException {
+public class UserExistsException extends DomainException {
 
-    public UserExistsException(String message) {
-        super(message);
+    public UserExistsException(ErrorCode errorCode) {
+        super(errorCode);
     }
 }
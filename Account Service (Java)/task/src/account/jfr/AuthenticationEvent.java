@@ -0,0 +1,32 @@
+package account.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("account.Authentication")
+@Label("Authentication")
+@Category({"Account Service", "Security"})
+@Description("Basic authentication, split into user lookup and password match phases")
+public class AuthenticationEvent extends Event {
+
+    @Label("Phase")
+    private final String phase;
+
+    @Label("Username")
+    private final String username;
+
+    @Label("Success")
+    private boolean success;
+
+    public AuthenticationEvent(String phase, String username) {
+        this.phase = phase;
+        this.username = username;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+}
@@ -0,0 +1,26 @@
+package account.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("account.BreachedCheck")
+@Label("Breached Password Check")
+@Category({"Account Service", "Security"})
+public class BreachedCheckEvent extends Event {
+
+    @Label("Hashes Compared")
+    private int compared;
+
+    @Label("Breached")
+    private boolean breached;
+
+    public void setCompared(int compared) {
+        this.compared = compared;
+    }
+
+    public void setBreached(boolean breached) {
+        this.breached = breached;
+    }
+}
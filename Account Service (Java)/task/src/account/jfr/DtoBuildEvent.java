@@ -0,0 +1,19 @@
+package account.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("account.DtoBuild")
+@Label("DTO Build")
+@Category({"Account Service", "Web"})
+public class DtoBuildEvent extends Event {
+
+    @Label("DTO Type")
+    private final Class<?> dtoType;
+
+    public DtoBuildEvent(Class<?> dtoType) {
+        this.dtoType = dtoType;
+    }
+}
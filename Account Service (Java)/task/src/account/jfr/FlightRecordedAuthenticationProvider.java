@@ -0,0 +1,51 @@
+package account.jfr;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public class FlightRecordedAuthenticationProvider extends DaoAuthenticationProvider {
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        AuthenticationEvent event = new AuthenticationEvent("authenticate", authentication.getName());
+        event.begin();
+        try {
+            Authentication result = super.authenticate(authentication);
+            event.setSuccess(true);
+            return result;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    protected UserDetails retrieveUser(String username, UsernamePasswordAuthenticationToken authentication)
+        throws AuthenticationException {
+        AuthenticationEvent event = new AuthenticationEvent("loadUser", username);
+        event.begin();
+        try {
+            UserDetails user = super.retrieveUser(username, authentication);
+            event.setSuccess(true);
+            return user;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+        throws AuthenticationException {
+        AuthenticationEvent event = new AuthenticationEvent("passwordMatch", userDetails.getUsername());
+        event.begin();
+        try {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+            event.setSuccess(true);
+        } finally {
+            event.commit();
+        }
+    }
+}
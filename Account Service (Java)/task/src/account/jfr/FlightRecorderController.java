@@ -0,0 +1,37 @@
+package account.jfr;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@RestController
+public class FlightRecorderController {
+
+    @Autowired
+    FlightRecorderService flightRecorderService;
+
+    @GetMapping(path = "/api/admin/jfr")
+    public ResponseEntity<?> getStatus() {
+        return flightRecorderService.handleGetStatus();
+    }
+
+    @PostMapping(path = "/api/admin/jfr/start")
+    public ResponseEntity<?> start(@RequestParam Optional<String> maxAge) {
+        return flightRecorderService.handleStart(maxAge.orElse(null));
+    }
+
+    @PostMapping(path = "/api/admin/jfr/stop")
+    public ResponseEntity<?> stop() {
+        return flightRecorderService.handleStop();
+    }
+
+    @GetMapping(path = "/api/admin/jfr/dump")
+    public ResponseEntity<?> dump() {
+        return flightRecorderService.handleDump();
+    }
+}
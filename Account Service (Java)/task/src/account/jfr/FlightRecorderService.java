@@ -0,0 +1,162 @@
+package account.jfr;
+
+import account.exceptionhandler.ErrorCode;
+import account.exceptionhandler.exception.InvalidChangeException;
+import account.exceptionhandler.exception.InvalidQueryException;
+import account.jfr.dto.RecordingStatusDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@Service
+public class FlightRecorderService {
+
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(
+        AuthenticationEvent.class, BreachedCheckEvent.class, RepositoryCallEvent.class,
+        DtoBuildEvent.class, ResponseWriteEvent.class);
+    private static final Duration MAX_AGE_LIMIT = Duration.ofHours(6); // named in ErrorCode.MAX_AGE_OUT_OF_RANGE
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final String settings;
+    private final Duration defaultMaxAge;
+    private final long maxSizeBytes;
+    private Recording recording;
+
+    public FlightRecorderService(@Value("${jfr.recording.settings}") String settings,
+                                 @Value("${jfr.recording.max-age}") String defaultMaxAge,
+                                 @Value("${jfr.recording.max-size-mb}") long maxSizeMegabytes) {
+        this.settings = settings;
+        this.defaultMaxAge = Duration.parse(defaultMaxAge);
+        this.maxSizeBytes = maxSizeMegabytes * 1024 * 1024;
+    }
+
+    // Registering up front makes the custom events show up in JMC and jcmd before they first fire.
+    @PostConstruct
+    void registerEvents() {
+        if (FlightRecorder.isAvailable()) EVENTS.forEach(FlightRecorder::register);
+    }
+
+    @PreDestroy
+    synchronized void closeRecording() {
+        if (recording != null) recording.close();
+        recording = null;
+    }
+
+    //Business logic
+
+    public synchronized ResponseEntity<RecordingStatusDto> handleStart(String maxAge) {
+        validateAvailable();
+        if (recording != null) throw new InvalidChangeException(ErrorCode.RECORDING_RUNNING);
+        Duration age = parseMaxAge(maxAge);
+        Recording started = new Recording(loadSettings());
+        started.setName("account-service");
+        EVENTS.forEach(event -> started.enable(event).withStackTrace());
+        started.setToDisk(true);
+        started.setMaxAge(age);
+        started.setMaxSize(maxSizeBytes);
+        started.start();
+        recording = started;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(buildStatusDto());
+    }
+
+    public synchronized ResponseEntity<RecordingStatusDto> handleStop() {
+        validateRunning();
+        recording.close();
+        recording = null;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(buildStatusDto());
+    }
+
+    public synchronized ResponseEntity<RecordingStatusDto> handleGetStatus() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(buildStatusDto());
+    }
+
+    public synchronized ResponseEntity<StreamingResponseBody> handleDump() {
+        validateRunning();
+        Path file;
+        try {
+            file = Files.createTempFile("account-service-", ".jfr");
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(file, outputStream);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"account-service-"
+                    + FILE_TIMESTAMP.format(LocalDateTime.now()) + ".jfr\"")
+                .body(body);
+    }
+
+    //Validation Methods
+
+    private void validateAvailable() {
+        if (!FlightRecorder.isAvailable()) throw new InvalidChangeException(ErrorCode.RECORDER_UNAVAILABLE);
+    }
+
+    private void validateRunning() {
+        if (recording == null) throw new InvalidChangeException(ErrorCode.RECORDING_NOT_RUNNING);
+    }
+
+    private Duration parseMaxAge(String maxAge) {
+        if (maxAge == null) return defaultMaxAge;
+        try {
+            Duration age = Duration.parse(maxAge);
+            if (age.isNegative() || age.isZero() || age.compareTo(MAX_AGE_LIMIT) > 0) {
+                throw new InvalidQueryException(ErrorCode.MAX_AGE_OUT_OF_RANGE);
+            }
+            return age;
+        } catch (DateTimeParseException e) {
+            throw new InvalidQueryException(ErrorCode.INVALID_MAX_AGE);
+        }
+    }
+
+    //Helper Methods
+
+    private Configuration loadSettings() {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings " + settings, e);
+        }
+    }
+
+    private RecordingStatusDto buildStatusDto() {
+        if (recording == null) return new RecordingStatusDto("STOPPED", null, null, 0);
+        return new RecordingStatusDto(
+            recording.getState().name(),
+            recording.getStartTime(),
+            recording.getMaxAge().toString(),
+            recording.getMaxSize());
+    }
+}
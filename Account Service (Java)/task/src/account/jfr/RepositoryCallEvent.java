@@ -0,0 +1,30 @@
+package account.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("account.RepositoryCall")
+@Label("Repository Call")
+@Category({"Account Service", "Persistence"})
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    private final String repository;
+
+    @Label("Method")
+    private final String method;
+
+    @Label("Failed")
+    private boolean failed;
+
+    public RepositoryCallEvent(String repository, String method) {
+        this.repository = repository;
+        this.method = method;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+}
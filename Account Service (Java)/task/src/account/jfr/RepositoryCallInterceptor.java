@@ -0,0 +1,28 @@
+package account.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+class RepositoryCallInterceptor implements MethodInterceptor {
+
+    private final String repository;
+
+    RepositoryCallInterceptor(String repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent(repository, invocation.getMethod().getName());
+        if (!event.isEnabled()) return invocation.proceed();
+        event.begin();
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            event.setFailed(true);
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package account.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("account.ResponseWrite")
+@Label("Response Write")
+@Category({"Account Service", "Web"})
+public class ResponseWriteEvent extends Event {
+
+    @Label("Body Type")
+    private final Class<?> bodyType;
+
+    @Label("Content Type")
+    private final String contentType;
+
+    public ResponseWriteEvent(Class<?> bodyType, String contentType) {
+        this.bodyType = bodyType;
+        this.contentType = contentType;
+    }
+}
@@ -0,0 +1,6 @@
+package account.jfr.dto;
+
+import java.time.Instant;
+
+public record RecordingStatusDto(String status, Instant startTime, String maxAge, long maxSize) {
+}
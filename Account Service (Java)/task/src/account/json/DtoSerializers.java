@@ -0,0 +1,173 @@
+package account.json;
+
+import account.exceptionhandler.CustomErrorMessage;
+import account.payment.dto.PaymentDto;
+import account.payment.dto.PaymentPostedDto;
+import account.payment.dto.UpdateSuccessfulDto;
+import account.user.dto.UserDeletedDto;
+import account.user.dto.UserDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+// Hand-written serializers for the DTOs on the hot response paths. Field names are pre-encoded once
+// and written in the same order the bean serializer used, so the JSON is byte-for-byte what the
+// reflective path produced (pretty printing still applies when INDENT_OUTPUT is on).
+@JsonComponent
+public class DtoSerializers {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString LASTNAME = new SerializedString("lastname");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString ROLES = new SerializedString("roles");
+    private static final SerializedString PERIOD = new SerializedString("period");
+    private static final SerializedString SALARY = new SerializedString("salary");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString USER = new SerializedString("user");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString ERROR = new SerializedString("error");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString PATH = new SerializedString("path");
+
+    // For ObjectMappers built outside Spring, such as the serialization benchmark.
+    public static SimpleModule module() {
+        return new SimpleModule("DtoSerializers")
+            .addSerializer(new PaymentDtoSerializer())
+            .addSerializer(new UserDtoSerializer())
+            .addSerializer(new CustomErrorMessageSerializer())
+            .addSerializer(new PaymentPostedDtoSerializer())
+            .addSerializer(new UpdateSuccessfulDtoSerializer())
+            .addSerializer(new UserDeletedDtoSerializer());
+    }
+
+    public static class PaymentDtoSerializer extends StdSerializer<PaymentDto> {
+
+        public PaymentDtoSerializer() {
+            super(PaymentDto.class);
+        }
+
+        @Override
+        public void serialize(PaymentDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(NAME);
+            gen.writeString(value.name());
+            gen.writeFieldName(LASTNAME);
+            gen.writeString(value.lastname());
+            gen.writeFieldName(PERIOD);
+            gen.writeString(value.period());
+            gen.writeFieldName(SALARY);
+            gen.writeString(value.salary());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class UserDtoSerializer extends StdSerializer<UserDto> {
+
+        public UserDtoSerializer() {
+            super(UserDto.class);
+        }
+
+        @Override
+        public void serialize(UserDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ID);
+            if (value.id() == null) gen.writeNull();
+            else gen.writeNumber(value.id());
+            gen.writeFieldName(NAME);
+            gen.writeString(value.name());
+            gen.writeFieldName(LASTNAME);
+            gen.writeString(value.lastname());
+            gen.writeFieldName(EMAIL);
+            gen.writeString(value.email());
+            gen.writeFieldName(ROLES);
+            String[] roles = value.roles();
+            if (roles == null) gen.writeNull();
+            else gen.writeArray(roles, 0, roles.length);
+            gen.writeEndObject();
+        }
+    }
+
+    public static class CustomErrorMessageSerializer extends StdSerializer<CustomErrorMessage> {
+
+        public CustomErrorMessageSerializer() {
+            super(CustomErrorMessage.class);
+        }
+
+        @Override
+        public void serialize(CustomErrorMessage value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(TIMESTAMP);
+            if (value.getTimestamp() == null) gen.writeNull();
+            else gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value.getTimestamp()));
+            gen.writeFieldName(STATUS);
+            gen.writeNumber(value.getStatus());
+            gen.writeFieldName(ERROR);
+            gen.writeString(value.getError());
+            gen.writeFieldName(MESSAGE);
+            gen.writeString(value.getMessage());
+            gen.writeFieldName(PATH);
+            gen.writeString(value.getPath());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class PaymentPostedDtoSerializer extends StdSerializer<PaymentPostedDto> {
+
+        public PaymentPostedDtoSerializer() {
+            super(PaymentPostedDto.class);
+        }
+
+        @Override
+        public void serialize(PaymentPostedDto value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(STATUS);
+            gen.writeString(value.status());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class UpdateSuccessfulDtoSerializer extends StdSerializer<UpdateSuccessfulDto> {
+
+        public UpdateSuccessfulDtoSerializer() {
+            super(UpdateSuccessfulDto.class);
+        }
+
+        @Override
+        public void serialize(UpdateSuccessfulDto value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(EMAIL);
+            gen.writeString(value.email());
+            gen.writeFieldName(STATUS);
+            gen.writeString(value.status());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class UserDeletedDtoSerializer extends StdSerializer<UserDeletedDto> {
+
+        public UserDeletedDtoSerializer() {
+            super(UserDeletedDto.class);
+        }
+
+        @Override
+        public void serialize(UserDeletedDto value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(USER);
+            gen.writeString(value.user());
+            gen.writeFieldName(STATUS);
+            gen.writeString(value.status());
+            gen.writeEndObject();
+        }
+    }
+}
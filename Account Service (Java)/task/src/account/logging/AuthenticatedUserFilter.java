@@ -0,0 +1,25 @@
+package account.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Runs inside the security filter chain, right after authentication, and records who the request
+// belongs to. RequestLoggingFilter runs outside the chain, where the security context has already been
+// cleared by the time it logs, so it reads the user from this request attribute instead.
+public class AuthenticatedUserFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) request.setAttribute(RequestLoggingFilter.USER, authentication.getName());
+        chain.doFilter(request, response);
+    }
+}
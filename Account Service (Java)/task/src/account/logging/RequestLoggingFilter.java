@@ -0,0 +1,90 @@
+package account.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Tags every request with an id and decides whether it is sampled for debug detail. Sampled requests
+// set the debugRequest MDC key, which the MDCFilter in logback-spring.xml turns into "log everything"
+// for that thread only. Requests slower than the threshold get a detailed summary line regardless; the
+// user on that line is the one AuthenticatedUserFilter recorded inside the security chain.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    static final String REQUEST_ID = "requestId";
+    static final String DEBUG_REQUEST = "debugRequest";
+    static final String USER = RequestLoggingFilter.class.getName() + ".user";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private final double sampleRate;
+    private final String debugHeader;
+    private final long slowThresholdNanos;
+
+    public RequestLoggingFilter(@Value("${logging.request.sample-rate:0}") double sampleRate,
+                                @Value("${logging.request.debug-header:X-Debug-Request}") String debugHeader,
+                                @Value("${logging.request.slow-threshold-millis:1000}") long slowThresholdMillis) {
+        this.sampleRate = sampleRate;
+        this.debugHeader = debugHeader;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        boolean sampled = isSampled(request);
+        MDC.put(REQUEST_ID, Long.toString(sequence.incrementAndGet(), 36));
+        if (sampled) MDC.put(DEBUG_REQUEST, "true");
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > slowThresholdNanos) {
+                logSlowRequest(request, response, elapsed, sampled);
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+            MDC.remove(DEBUG_REQUEST);
+            MDC.remove(REQUEST_ID);
+        }
+    }
+
+    private boolean isSampled(HttpServletRequest request) {
+        if (Boolean.parseBoolean(request.getHeader(debugHeader))) return true;
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void logSlowRequest(HttpServletRequest request, HttpServletResponse response, long elapsed,
+                                boolean sampled) {
+        Object user = request.getAttribute(USER);
+        log.warn("Slow request {} {}{} -> {} in {} ms user={} client={} agent={} requestBytes={} sampled={}",
+            request.getMethod(),
+            request.getRequestURI(),
+            request.getQueryString() == null ? "" : "?" + request.getQueryString(),
+            response.getStatus(),
+            TimeUnit.NANOSECONDS.toMillis(elapsed),
+            user == null ? "Anonymous" : user,
+            request.getRemoteAddr(),
+            request.getHeader("User-Agent"),
+            request.getContentLengthLong(),
+            sampled);
+    }
+}
@@ -0,0 +1,80 @@
+package account.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+// Renders each event as one JSON object per line so log shippers never have to reassemble multi-line
+// stack traces or formatted SQL.
+public class StructuredLogLayout extends LayoutBase<ILoggingEvent> {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_INSTANT;
+
+    @Override
+    public String doLayout(ILoggingEvent event) {
+        StringBuilder line = new StringBuilder(256);
+        line.append("{\"ts\":\"").append(TIMESTAMP.format(Instant.ofEpochMilli(event.getTimeStamp())))
+            .append("\",\"level\":\"").append(event.getLevel())
+            .append("\",\"thread\":");
+        appendString(line, event.getThreadName());
+        line.append(",\"logger\":");
+        appendString(line, event.getLoggerName());
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                line.append(',');
+                appendString(line, entry.getKey());
+                line.append(':');
+                appendString(line, entry.getValue());
+            }
+        }
+        line.append(",\"msg\":");
+        appendString(line, event.getFormattedMessage());
+        if (event.getThrowableProxy() != null) {
+            line.append(",\"error\":");
+            appendString(line, renderThrowable(event.getThrowableProxy()));
+        }
+        return line.append('}').append(CoreConstants.LINE_SEPARATOR).toString();
+    }
+
+    private String renderThrowable(IThrowableProxy throwable) {
+        StringBuilder trace = new StringBuilder();
+        for (IThrowableProxy current = throwable; current != null; current = current.getCause()) {
+            if (current != throwable) trace.append("\nCaused by: ");
+            trace.append(current.getClassName()).append(": ").append(current.getMessage());
+            for (StackTraceElementProxy frame : current.getStackTraceElementProxyArray()) {
+                trace.append("\n\tat ").append(frame.getStackTraceElement());
+            }
+        }
+        return trace.toString();
+    }
+
+    private static void appendString(StringBuilder line, String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) line.append(String.format("\\u%04x", (int) c));
+                    else line.append(c);
+                }
+            }
+        }
+        line.append('"');
+    }
+}
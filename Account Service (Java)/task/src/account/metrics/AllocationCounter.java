@@ -0,0 +1,46 @@
+package account.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+// Bytes allocated by the current thread since start(), read from HotSpot's per-thread allocation
+// counter (TLAB refills plus direct allocations). Reads -1 where the JVM does not expose it.
+public final class AllocationCounter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    private static final ThreadLocal<long[]> START = new ThreadLocal<>();
+
+    private AllocationCounter() {
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    public static void start() {
+        if (THREADS != null) START.set(new long[]{THREADS.getCurrentThreadAllocatedBytes()});
+    }
+
+    public static long stop() {
+        long allocated = current();
+        START.remove();
+        return allocated;
+    }
+
+    public static boolean isActive() {
+        return START.get() != null;
+    }
+
+    public static long current() {
+        long[] start = START.get();
+        return start == null ? -1 : THREADS.getCurrentThreadAllocatedBytes() - start[0];
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean hotspot)) return null;
+        if (!hotspot.isThreadAllocatedMemorySupported()) return null;
+        if (!hotspot.isThreadAllocatedMemoryEnabled()) hotspot.setThreadAllocatedMemoryEnabled(true);
+        return hotspot;
+    }
+}
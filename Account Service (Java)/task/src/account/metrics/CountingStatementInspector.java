@@ -0,0 +1,14 @@
+package account.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered through hibernate.session_factory.statement_inspector; Hibernate calls it once for every
+// statement it prepares, including those for lazy and eager association loads.
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.increment();
+        return sql;
+    }
+}
@@ -0,0 +1,63 @@
+package account.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final KeyValue NO_HANDLER = KeyValue.of("handler", "none");
+
+    // Adds the controller method to http.server.requests so each endpoint gets its own latency
+    // histogram even when several methods share a URI template.
+    @Bean
+    public ServerRequestObservationConvention handlerTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPoolSaturation(ObjectProvider<HikariDataSource> dataSources) {
+        return registry -> dataSources.orderedStream().forEach(dataSource -> registerSaturation(registry, dataSource));
+    }
+
+    private static void registerSaturation(MeterRegistry registry, HikariDataSource dataSource) {
+        Gauge.builder("hikaricp.connections.saturation", dataSource, MetricsConfig::saturation)
+            .tag("pool", dataSource.getPoolName())
+            .description("Active connections plus waiting threads relative to the pool size")
+            .register(registry);
+    }
+
+    private static double saturation(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) return 0;
+        return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection())
+            / dataSource.getMaximumPoolSize();
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        if (context.getCarrier() == null) return NO_HANDLER;
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return KeyValue.of("handler", method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return NO_HANDLER;
+    }
+}
@@ -0,0 +1,35 @@
+package account.metrics;
+
+// Per-thread count of JDBC statements prepared by Hibernate. Only threads that called start() are
+// counted, so background work such as the audit writer never leaks into a request's number.
+public final class QueryCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    public static boolean isActive() {
+        return COUNT.get() != null;
+    }
+
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) count[0]++;
+    }
+}
@@ -0,0 +1,133 @@
+package account.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Measures what each request costs on its handling thread: SQL statements and allocated bytes.
+// Runs ahead of the security filter chain so authentication lookups count towards the request.
+// With metrics.request-cost.headers the cost is also returned in X-Query-Count and X-Allocated-Bytes.
+// Headers cannot follow a committed body, so the body is held back until the handler and the message
+// converter are done; the numbers then include rendering the response.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class RequestCostFilter extends OncePerRequestFilter {
+
+    static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    static final String ALLOCATED_BYTES_HEADER = "X-Allocated-Bytes";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headers;
+
+    public RequestCostFilter(MeterRegistry meterRegistry,
+                             @Value("${metrics.request-cost.headers:false}") boolean headers) {
+        this.meterRegistry = meterRegistry;
+        this.headers = headers;
+    }
+
+    // An async response is rendered on the async dispatch; all that is left then is releasing the body.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return !headers;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                HeldResponse held = WebUtils.getNativeResponse(response, HeldResponse.class);
+                if (held != null) held.copyBodyToResponse();
+            }
+            return;
+        }
+
+        HeldResponse held = headers ? new HeldResponse(request, response) : null;
+        QueryCounter.start();
+        AllocationCounter.start();
+        try {
+            chain.doFilter(request, held == null ? response : held);
+        } finally {
+            long allocated = AllocationCounter.stop();
+            int statements = QueryCounter.stop();
+            record(request, statements, allocated);
+            if (held != null && !isAsyncStarted(request)) {
+                held.setHeader(QUERY_COUNT_HEADER, Integer.toString(statements));
+                held.setHeader(ALLOCATED_BYTES_HEADER, Long.toString(allocated));
+                held.copyBodyToResponse();
+            }
+        }
+    }
+
+    //Helper Methods
+
+    private void record(HttpServletRequest request, int statements, long allocated) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+        DistributionSummary.builder("http.server.requests.statements")
+            .description("SQL statements issued while handling a request")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(statements);
+        if (allocated >= 0) {
+            DistributionSummary.builder("http.server.requests.allocated")
+                .description("Bytes allocated on the handling thread while serving a request")
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(allocated);
+        }
+    }
+
+    // Buffers the body like ShallowEtagHeaderFilter does, and like it lets streaming responses through:
+    // the emitter and StreamingResponseBody handlers mark those with disableContentCaching. Whatever is
+    // written on an async dispatch goes straight through too, since the cost was settled before it.
+    private static final class HeldResponse extends ContentCachingResponseWrapper {
+
+        private static final String STREAMING_ATTRIBUTE = ShallowEtagHeaderFilter.class.getName() + ".STREAMING";
+
+        private final HttpServletRequest request;
+
+        HeldResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return passThrough() ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return passThrough() ? getResponse().getWriter() : super.getWriter();
+        }
+
+        private boolean passThrough() {
+            return request.getAttribute(STREAMING_ATTRIBUTE) != null
+                || request.getDispatcherType() == DispatcherType.ASYNC;
+        }
+    }
+}
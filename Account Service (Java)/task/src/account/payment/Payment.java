@@ -2,6 +2,7 @@ package account.payment;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 
@@ -15,9 +16,10 @@ public class Payment {
     @Column(name="id")
     private Long id;
 
-    @Column(name = "employee")
-    @NotBlank
-    private String employee;
+    // References users.id; the rows go with the user (on delete cascade).
+    @Column(name = "user_id")
+    @NotNull
+    private Long userId;
 
     @Column(name = "period")
     @NotBlank
@@ -29,18 +31,22 @@ public class Payment {
 
     public Payment(){}
 
-    public Payment(String employee, String period, Long salary){
-        this.employee = employee;
+    public Payment(Long userId, String period, Long salary){
+        this.userId = userId;
         this.period = period;
         this.salary = salary;
     }
 
-    public String getEmployee() {
-        return employee;
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
     }
 
-    public void setEmployee(String employee) {
-        this.employee = employee;
+    public void setUserId(Long userId) {
+        this.userId = userId;
     }
 
     public String getPeriod() {
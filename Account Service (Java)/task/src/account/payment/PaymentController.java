@@ -1,20 +1,17 @@
 package account.payment;
 
-import account.payment.dto.PaymentPostedDto;
 import account.payment.request.PaymentAddRequest;
+import account.payment.request.PeriodCloseRequest;
+import account.payment.request.SalaryAdjustmentRequest;
 import account.user.UserAdapter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Pattern;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.text.ParseException;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 public class PaymentController {
@@ -26,17 +23,6 @@ public class PaymentController {
         this.paymentService = paymentService;
     }
 
-    @GetMapping(path = "/api/empl/payment")
-    public ResponseEntity<?> getPayment (
-        @RequestParam(required = false) @Pattern(regexp = "(0[1-9]|1[1,2])-(19|20)\\d{2}") Optional<String> period,
-        @AuthenticationPrincipal UserAdapter user) throws ParseException {
-
-        if (period.isPresent()){
-            return paymentService.handleGetPayment(period.get(), user);
-        }
-        return paymentService.handleGetAllPayments(user);
-    }
-
     @PutMapping(path = "/api/acct/payments")
     public ResponseEntity<?> updatePayments(@RequestBody PaymentAddRequest payment) {
         return paymentService.updatePayment(payment);
@@ -45,11 +31,17 @@ public class PaymentController {
     @PostMapping(path = "/api/acct/payments")
     public ResponseEntity<?> addPayments(
         @NotEmpty(message = "Payments cannot be empty") @RequestBody List<@Valid PaymentAddRequest> payments) {
-            payments.forEach(paymentService::validatePaymentAdd);
-            payments.forEach(paymentService::postPayment);
+            return paymentService.handlePostPayments(payments);
+    }
+
+    @PostMapping(path = "/api/acct/payments/adjust")
+    public ResponseEntity<?> adjustSalaries(@Valid @RequestBody SalaryAdjustmentRequest request) {
+        return paymentService.handleSalaryAdjustment(request);
+    }
 
-            return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body( new PaymentPostedDto("Added successfully!"));
+    @PostMapping(path = "/api/acct/payments/close")
+    public ResponseEntity<?> closePeriod(@Valid @RequestBody PeriodCloseRequest request,
+                                         @AuthenticationPrincipal UserAdapter accountant) {
+        return paymentService.handleClosePeriod(request.period(), accountant);
     }
 }
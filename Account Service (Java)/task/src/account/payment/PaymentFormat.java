@@ -0,0 +1,34 @@
+package account.payment;
+
+// How salaries and periods are rendered in payment responses. Pure functions of their input, kept out
+// of PaymentService so they can be used and measured without its collaborators.
+public final class PaymentFormat {
+
+    private static final String[] MONTH_NAMES = {"January", "February", "March", "April", "May", "June", "July",
+        "August", "September", "October", "November", "December"};
+
+    private PaymentFormat() {
+    }
+
+    public static String salary(long cents) {
+        long change = cents%100;
+        long dollars = (cents - change)/100;
+        return dollars + " dollar(s) " + change + " cent(s)";
+    }
+
+    // Same output as the lenient SimpleDateFormat("MM-yyyy") -> "MMMM-yyyy" round trip it replaces,
+    // including month overflow rolling into the next year, without two formatters and a Date per call.
+    public static String period(String period) {
+        int separator = period.indexOf('-');
+        int month;
+        int year;
+        try {
+            month = Integer.parseInt(period, 0, separator, 10);
+            year = Integer.parseInt(period, separator + 1, period.length(), 10);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new RuntimeException(e);
+        }
+        int months = year * 12 + month - 1;
+        return MONTH_NAMES[Math.floorMod(months, 12)] + "-" + Math.floorDiv(months, 12);
+    }
+}
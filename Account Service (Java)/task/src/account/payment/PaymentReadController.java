@@ -0,0 +1,40 @@
+package account.payment;
+
+import account.user.UserAdapter;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.text.ParseException;
+import java.util.Optional;
+
+@RestController
+@ConditionalOnProperty(name = "payment.read.reactive", havingValue = "false", matchIfMissing = true)
+public class PaymentReadController {
+
+    @Autowired
+    PaymentService paymentService;
+    @Autowired
+    PaymentReadMetrics paymentReadMetrics;
+
+    @GetMapping(path = "/api/empl/payment")
+    public ResponseEntity<?> getPayment (
+        @RequestParam(required = false) @Pattern(regexp = "(0[1-9]|1[1,2])-(19|20)\\d{2}") Optional<String> period,
+        @AuthenticationPrincipal UserAdapter user) throws ParseException {
+
+        paymentReadMetrics.started();
+        try {
+            if (period.isPresent()){
+                return paymentService.handleGetPayment(period.get(), user);
+            }
+            return paymentService.handleGetAllPayments(user);
+        } finally {
+            paymentReadMetrics.finished();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package account.payment;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class PaymentReadMetrics {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Autowired
+    public PaymentReadMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("payments.read.inflight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public void started() {
+        inFlight.incrementAndGet();
+    }
+
+    public void finished() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
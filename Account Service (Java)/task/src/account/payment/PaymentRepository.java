@@ -1,14 +1,73 @@
 package account.payment;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PaymentRepository extends CrudRepository<Payment, Long> {
-    boolean existsByEmployeeAndPeriod(String employee, String period);
-    Payment findByEmployeeAndPeriod(String employee, String period);
-    List<Payment> findByEmployeeOrderByPeriodDesc(String employee);
-}
 
+    // Shared by the adjustment preview and update, so the preview is exactly what gets committed. The
+    // percentage is rounded to whole cents per payment, halves away from zero. A role bit of 0 matches every role;
+    // the user id list only applies when filterUsers is true.
+    String ADJUSTED_SALARY = "p.salary + cast(round(p.salary * :percent / 100, 0) as bigint) + :amount";
+    String ADJUSTMENT_FILTER = "p.period = :period and p.salary is not null "
+        + "and p.user_id in (select u.id from users u where :roleBit = 0 or bitand(u.roles, :roleBit) <> 0) "
+        + "and (:filterUsers = false or p.user_id in (:userIds))";
+
+    boolean existsByUserIdAndPeriod(Long userId, String period);
+    Payment findByUserIdAndPeriod(Long userId, String period);
+    List<Payment> findByUserIdOrderByPeriodDesc(Long userId);
+    List<Payment> findByPeriod(String period);
+
+    // Superset of the (user, period) pairs of a batch that already exist; callers match the exact pairs.
+    @Query("select p from Payment p where p.userId in :userIds and p.period in :periods")
+    List<Payment> findByUserIdInAndPeriodIn(
+        @Param("userIds") Collection<Long> userIds, @Param("periods") Collection<String> periods);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into payments_archive (id, user_id, email, period, salary, archived_at) "
+        + "select p.id, p.user_id, u.email, p.period, p.salary, current_timestamp "
+        + "from payments p join users u on u.id = p.user_id where p.user_id in (:userIds)")
+    int archiveByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // Taken before the preview of a real adjustment, in the same transaction, so no salary it counted
+    // can change before the update.
+    @Query(nativeQuery = true, value = "select p.id from payments p where " + ADJUSTMENT_FILTER + " for update")
+    List<Long> lockForAdjustment(
+        @Param("period") String period, @Param("roleBit") int roleBit, @Param("filterUsers") boolean filterUsers,
+        @Param("userIds") Collection<Long> userIds);
+
+    // Aliases are quoted so the projection properties keep their case.
+    @Query(nativeQuery = true, value = "select count(*) as \"payments\", "
+        + "cast(coalesce(sum(p.salary), 0) as bigint) as \"totalBefore\", "
+        + "cast(coalesce(sum(" + ADJUSTED_SALARY + "), 0) as bigint) as \"totalAfter\", "
+        + "min(" + ADJUSTED_SALARY + ") as \"lowest\" "
+        + "from payments p where " + ADJUSTMENT_FILTER)
+    SalaryAdjustmentTotals previewAdjustment(
+        @Param("period") String period, @Param("percent") BigDecimal percent, @Param("amount") long amount,
+        @Param("roleBit") int roleBit, @Param("filterUsers") boolean filterUsers,
+        @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "update payments p set salary = " + ADJUSTED_SALARY
+        + " where " + ADJUSTMENT_FILTER)
+    int adjustSalaries(
+        @Param("period") String period, @Param("percent") BigDecimal percent, @Param("amount") long amount,
+        @Param("roleBit") int roleBit, @Param("filterUsers") boolean filterUsers,
+        @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("delete from Payment p where p.period = :period")
+    int deleteByPeriod(@Param("period") String period);
+
+    @Modifying
+    @Query("delete from Payment p where p.userId in :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
@@ -1,117 +1,315 @@
 package account.payment;
 
+import account.audit.AuditAction;
+import account.audit.AuditService;
+import account.datasource.ReadYourWritesTracker;
+import account.jfr.DtoBuildEvent;
 import account.payment.dto.PaymentDto;
+import account.payment.closed.ClosedPayment;
+import account.payment.closed.ClosedPaymentRepository;
+import account.payment.closed.ClosedPeriod;
+import account.payment.closed.ClosedPeriodRepository;
+import account.payment.closed.ClosedPeriods;
 import account.payment.dto.PaymentPostedDto;
+import account.payment.dto.PeriodClosedDto;
+import account.payment.dto.SalaryAdjustmentDto;
 import account.payment.request.PaymentAddRequest;
+import account.payment.request.SalaryAdjustmentRequest;
 import account.user.UserAdapter;
+import account.authority.Role;
+import account.exceptionhandler.ErrorCode;
 import account.exceptionhandler.exception.InvalidPaymentException;
+import account.exceptionhandler.exception.NotFoundException;
+import account.exceptionhandler.exception.PaymentDoesNotExistException;
 import account.exceptionhandler.exception.PaymentExistsException;
+import account.user.User;
 import account.user.UserService;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class PaymentService {
 
     PaymentRepository paymentRepository;
     UserService userService;
+    AuditService auditService;
+    ReadYourWritesTracker readYourWritesTracker;
+    ClosedPeriods closedPeriods;
+    ClosedPaymentRepository closedPaymentRepository;
+    ClosedPeriodRepository closedPeriodRepository;
+    TransactionTemplate transactionTemplate;
 
     @Autowired
-    public PaymentService (PaymentRepository paymentRepository, UserService userService) {
+    public PaymentService (PaymentRepository paymentRepository, UserService userService, AuditService auditService,
+                           ReadYourWritesTracker readYourWritesTracker, ClosedPeriods closedPeriods,
+                           ClosedPaymentRepository closedPaymentRepository,
+                           ClosedPeriodRepository closedPeriodRepository,
+                           PlatformTransactionManager transactionManager) {
         this.paymentRepository = paymentRepository;
         this.userService = userService;
+        this.auditService = auditService;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.closedPeriods = closedPeriods;
+        this.closedPaymentRepository = closedPaymentRepository;
+        this.closedPeriodRepository = closedPeriodRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     //Business logic
+    @Transactional(readOnly = true)
     public ResponseEntity<PaymentDto> handleGetPayment(String period, UserAdapter user) throws ParseException {
         userService.validateUserExists(user.getEmail());
-        Payment payment = paymentRepository.findByEmployeeAndPeriod(user.getEmail().toLowerCase(), period);
+        if (closedPeriods.isClosed(period)) {
+            PaymentDto closed = closedPeriods.payment(user.getId(), period)
+                    .orElseThrow(() -> new PaymentDoesNotExistException(ErrorCode.PAYMENT_NOT_FOUND));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(closed);
+        }
+        Payment payment = paymentRepository.findByUserIdAndPeriod(user.getId(), period);
+        if (payment == null) throw new PaymentDoesNotExistException(ErrorCode.PAYMENT_NOT_FOUND);
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(buildPaymentDto(payment, user));
     }
 
+    @Transactional(readOnly = true)
     public ResponseEntity<PaymentDto[]> handleGetAllPayments(UserAdapter user) throws ParseException{
         userService.validateUserExists(user.getEmail());
-        List<Payment> allPayments = paymentRepository.findByEmployeeOrderByPeriodDesc(user.getEmail().toLowerCase());
-        PaymentDto[] paymentDto = allPayments.stream()
-                .map(payment -> buildPaymentDto(payment, user))
-                .toList().toArray(new PaymentDto[0]);
+        List<Payment> allPayments = paymentRepository.findByUserIdOrderByPeriodDesc(user.getId());
+        List<ClosedPayment> closedPayments = closedPeriods.anyClosed()
+                ? closedPeriods.payments(user.getId()) : List.of();
+        PaymentDto[] paymentDto = mergeByPeriodDesc(allPayments, closedPayments, user).toArray(PaymentDto[]::new);
 
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(paymentDto);
     }
 
-    @Transactional
-    public Payment postPayment (PaymentAddRequest payment) {
-        Payment postedPayment = new Payment(payment.employee(), payment.period(), payment.salary());
-        paymentRepository.save(postedPayment);
-        return postedPayment;
+    public ResponseEntity<PaymentPostedDto> handlePostPayments (List<PaymentAddRequest> payments) {
+        Set<String> periods = new HashSet<>();
+        for (PaymentAddRequest payment : payments) periods.add(payment.period());
+        try {
+            closedPeriods.whileOpen(periods,
+                    () -> transactionTemplate.executeWithoutResult(status -> postPayments(payments)));
+        } catch (DataIntegrityViolationException e) {
+            if (isMissingUser(e)) {
+                userService.forgetDeleted(payments.stream().map(PaymentAddRequest::employee).toList());
+            }
+            throw e;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new PaymentPostedDto("Added successfully!"));
     }
 
-    @Transactional
     public ResponseEntity<PaymentPostedDto> updatePayment (PaymentAddRequest payment) {
-        userService.validateUserExists(payment.employee());
-        validatePaymentPositive(payment.salary());
-        Payment updatedPayment = paymentRepository.findByEmployeeAndPeriod(payment.employee(), payment.period());
-        updatedPayment.setSalary(payment.salary());
-        paymentRepository.save(updatedPayment);
+        closedPeriods.whileOpen(List.of(payment.period()),
+                () -> transactionTemplate.executeWithoutResult(status -> changePayment(payment)));
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(new PaymentPostedDto("Added successfully!"));
     }
 
+    // The period's payments are rendered once, copied to closed_payments and removed from payments, all
+    // in one transaction under the close lock; from then on reads of the period never touch payments.
+    public ResponseEntity<PeriodClosedDto> handleClosePeriod(String period, UserAdapter accountant) {
+        int closed = closedPeriods.close(period,
+                () -> transactionTemplate.execute(status -> closePeriod(period, accountant.getEmail())));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new PeriodClosedDto(period, closed, "Closed successfully!"));
+    }
+
+    // The matching payments are aggregated before and after the adjustment in one query; a preview stops
+    // there, otherwise a single set-based update applies the same expression to the same rows. A real
+    // adjustment locks those rows first, so the totals it reports are the ones it commits.
+    public ResponseEntity<SalaryAdjustmentDto> handleSalaryAdjustment(SalaryAdjustmentRequest request) {
+        validateAdjustment(request);
+        int roleBit = request.role() == null ? 0 : Role.fromAuthority("ROLE_" + request.role().toUpperCase())
+                .orElseThrow(() -> new NotFoundException(ErrorCode.ROLE_NOT_FOUND)).bit();
+        SalaryAdjustmentTotals totals = closedPeriods.whileOpen(List.of(request.period()),
+                () -> transactionTemplate.execute(status -> adjustSalaries(request, roleBit)));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new SalaryAdjustmentDto(request.period(), totals.getPayments(),
+                        PaymentFormat.salary(totals.getTotalBefore()), PaymentFormat.salary(totals.getTotalAfter()),
+                        request.preview() ? "Preview" : "Adjusted successfully!"));
+    }
+
     public PaymentDto buildPaymentDto(Payment payment, UserAdapter user) {
-        return new PaymentDto(
-                user.getName(),
-                user.getLastName(),
-                formatPeriod(payment.getPeriod()),
-                formatSalary(payment.getSalary())
+        return buildPaymentDto(payment, user.getName(), user.getLastName());
+    }
+
+    public PaymentDto buildPaymentDto(Payment payment, String name, String lastname) {
+        DtoBuildEvent event = new DtoBuildEvent(PaymentDto.class);
+        event.begin();
+        PaymentDto paymentDto = new PaymentDto(
+                name,
+                lastname,
+                PaymentFormat.period(payment.getPeriod()),
+                PaymentFormat.salary(payment.getSalary())
         );
+        event.commit();
+        return paymentDto;
     }
 
-    //Formatting Methods
+    // Both lists are sorted by period descending; closed and open periods never share a period.
+    public List<PaymentDto> mergeByPeriodDesc(List<Payment> open, List<ClosedPayment> closed, UserAdapter user) {
+        List<PaymentDto> merged = new ArrayList<>(open.size() + closed.size());
+        int i = 0;
+        int j = 0;
+        while (i < open.size() || j < closed.size()) {
+            if (j == closed.size()
+                    || (i < open.size() && open.get(i).getPeriod().compareTo(closed.get(j).getPeriod()) > 0)) {
+                merged.add(buildPaymentDto(open.get(i++), user));
+            } else {
+                merged.add(closed.get(j++).toDto());
+            }
+        }
+        return merged;
+    }
+
+    //Validation Methods
 
-    public String formatSalary(Long cents) {
-        Long change = cents%100;
-        Long dollars = (cents - change)/100;
-        return dollars + " dollar(s) " + change + " cent(s)";
+    public void validatePaymentPositive(Long payment) {
+        if (payment < 0) throw new InvalidPaymentException(ErrorCode.NEGATIVE_SALARY);
     }
 
-    public String formatPeriod (String period) {
-        SimpleDateFormat originalFormat = new SimpleDateFormat("MM-yyyy");
-        SimpleDateFormat targetFormat = new SimpleDateFormat("MMMM-yyyy");
-        try {
-            Date date = originalFormat.parse(period);
-            return targetFormat.format(date);
-        } catch (ParseException e) {
-            throw new RuntimeException(e);
+    public void validateAdjustment(SalaryAdjustmentRequest request) {
+        if ((request.percent() == null) == (request.amount() == null)) {
+            throw new InvalidPaymentException(ErrorCode.INVALID_ADJUSTMENT);
         }
     }
 
-    //Validation Methods
+    //Helper Methods
+
+    // Emails are resolved to user ids and existing periods are looked up once for the whole batch;
+    // the payments are then inserted together, so a batch costs the same few queries at any size.
+    private void postPayments(List<PaymentAddRequest> payments) {
+        Map<String, Long> userIds = userService.resolveUserIds(
+            payments.stream().map(PaymentAddRequest::employee).toList());
+        Set<String> taken = existingPayments(userIds.values(), payments);
+
+        List<Payment> postedPayments = new ArrayList<>(payments.size());
+        for (PaymentAddRequest payment : payments) {
+            validatePaymentPositive(payment.salary());
+            Long userId = userIds.get(payment.employee().toLowerCase());
+            if (userId == null) throw new NotFoundException(ErrorCode.USER_NOT_FOUND);
+            // add() also rejects the same employee and period twice within one batch
+            if (!taken.add(paymentKey(userId, payment.period()))) {
+                throw new PaymentExistsException(ErrorCode.PAYMENT_EXISTS);
+            }
+            postedPayments.add(new Payment(userId, payment.period(), payment.salary()));
+        }
+
+        paymentRepository.saveAll(postedPayments);
+        for (PaymentAddRequest payment : payments) {
+            readYourWritesTracker.markWritten(payment.employee());
+            auditService.publish(AuditAction.POST_PAYMENT, payment.employee() + " " + payment.period());
+        }
+    }
 
-    public void validatePaymentAdd(PaymentAddRequest payment){
+    private void changePayment(PaymentAddRequest payment) {
+        Long userId = userService.loadUserId(payment.employee());
         validatePaymentPositive(payment.salary());
-        validateUniquePayment(payment);
-        userService.validateUserExists(payment.employee());
+        Payment updatedPayment = paymentRepository.findByUserIdAndPeriod(userId, payment.period());
+        if (updatedPayment == null) {
+            // the id may be stale, and the user's payments gone with the user
+            userService.forgetDeleted(List.of(payment.employee()));
+            throw new PaymentDoesNotExistException(ErrorCode.PAYMENT_NOT_FOUND);
+        }
+        updatedPayment.setSalary(payment.salary());
+        paymentRepository.save(updatedPayment);
+        readYourWritesTracker.markWritten(payment.employee());
+        auditService.publish(AuditAction.UPDATE_PAYMENT, payment.employee() + " " + payment.period());
     }
 
-    public void validateUniquePayment(PaymentAddRequest payment) {
-        if (paymentRepository.existsByEmployeeAndPeriod(payment.employee(), payment.period())) {
-            throw new PaymentExistsException("Cannot add duplicate payment");
+    private int closePeriod(String period, String accountant) {
+        List<Payment> payments = paymentRepository.findByPeriod(period);
+        // A period never reopens, so closing one without payments (a typo, a future month) would block
+        // its payroll for good.
+        if (payments.isEmpty()) throw new InvalidPaymentException(ErrorCode.PERIOD_EMPTY);
+        Set<Long> userIds = new HashSet<>();
+        for (Payment payment : payments) userIds.add(payment.getUserId());
+        Map<Long, User> users = userService.loadUsers(userIds);
+
+        List<ClosedPayment> closed = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            User user = users.get(payment.getUserId());
+            PaymentDto rendered = buildPaymentDto(payment, user.getName(), user.getLastName());
+            closed.add(new ClosedPayment(payment.getId(), payment.getUserId(), period, payment.getSalary(), rendered));
         }
+        closedPaymentRepository.saveAll(closed);
+        paymentRepository.deleteByPeriod(period);
+        closedPeriodRepository.save(new ClosedPeriod(period, LocalDateTime.now(), accountant));
+        auditService.publish(AuditAction.CLOSE_PERIOD, period);
+        return closed.size();
     }
-    public void validatePaymentPositive(Long payment) {
-        if (payment < 0) throw new InvalidPaymentException("Salary cannot be negative!");
+
+    // Employees are not marked in ReadYourWritesTracker: an adjustment can touch every user, and their
+    // next read lagging behind by the replica delay is acceptable for a raise.
+    private SalaryAdjustmentTotals adjustSalaries(SalaryAdjustmentRequest request, int roleBit) {
+        BigDecimal percent = request.percent() == null ? BigDecimal.ZERO : request.percent();
+        long amount = request.amount() == null ? 0 : request.amount();
+        boolean filterUsers = request.employees() != null && !request.employees().isEmpty();
+        Collection<Long> userIds = List.of(0L);
+        if (filterUsers) {
+            Map<String, Long> resolved = userService.resolveUserIds(request.employees());
+            for (String employee : request.employees()) {
+                if (!resolved.containsKey(employee.toLowerCase())) throw new NotFoundException(ErrorCode.USER_NOT_FOUND);
+            }
+            userIds = resolved.values();
+        }
+
+        if (!request.preview()) paymentRepository.lockForAdjustment(request.period(), roleBit, filterUsers, userIds);
+        SalaryAdjustmentTotals totals = paymentRepository.previewAdjustment(
+                request.period(), percent, amount, roleBit, filterUsers, userIds);
+        if (totals.getLowest() != null && totals.getLowest() < 0) {
+            throw new InvalidPaymentException(ErrorCode.NEGATIVE_SALARY);
+        }
+        if (request.preview() || totals.getPayments() == 0) return totals;
+
+        paymentRepository.adjustSalaries(request.period(), percent, amount, roleBit, filterUsers, userIds);
+        auditService.publish(AuditAction.ADJUST_SALARIES, request.period() + " "
+                + (request.percent() != null ? request.percent().toPlainString() + "%" : request.amount().toString())
+                + " " + totals.getPayments());
+        return totals;
+    }
+
+    private Set<String> existingPayments(Collection<Long> userIds, List<PaymentAddRequest> payments) {
+        Set<String> taken = new HashSet<>();
+        if (userIds.isEmpty()) return taken;
+        Set<String> periods = new HashSet<>();
+        for (PaymentAddRequest payment : payments) periods.add(payment.period());
+        for (Payment payment : paymentRepository.findByUserIdInAndPeriodIn(userIds, periods)) {
+            taken.add(paymentKey(payment.getUserId(), payment.getPeriod()));
+        }
+        return taken;
+    }
+
+    private String paymentKey(Long userId, String period) {
+        return userId + "/" + period;
+    }
+
+    private boolean isMissingUser(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains("fk_payments_user");
     }
 }
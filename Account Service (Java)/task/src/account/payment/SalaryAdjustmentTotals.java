@@ -0,0 +1,10 @@
+package account.payment;
+
+// Aggregates of the payments an adjustment matches, before and after it; lowest is the smallest
+// resulting salary, null when nothing matches.
+public interface SalaryAdjustmentTotals {
+    Long getPayments();
+    Long getTotalBefore();
+    Long getTotalAfter();
+    Long getLowest();
+}
@@ -0,0 +1,87 @@
+package account.payment.closed;
+
+import account.payment.dto.PaymentDto;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+// A payment of a closed period, stored with the rendered PaymentDto fields next to the raw values.
+// Rows are only ever inserted, so the entity has no setters.
+@Entity
+@Table(name = "closed_payments")
+public class ClosedPayment implements Persistable<Long> {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "period")
+    private String period;
+
+    @Column(name = "salary")
+    private Long salary;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "lastname")
+    private String lastname;
+
+    @Column(name = "period_label")
+    private String periodLabel;
+
+    @Column(name = "salary_label")
+    private String salaryLabel;
+
+    // The id is copied from the payment, so Spring Data would take every new row for an existing one
+    // and select it before merging; closing inserts only, so new instances say so.
+    @Transient
+    private boolean isNew = true;
+
+    public ClosedPayment() {}
+
+    public ClosedPayment(Long id, Long userId, String period, Long salary, PaymentDto rendered) {
+        this.id = id;
+        this.userId = userId;
+        this.period = period;
+        this.salary = salary;
+        this.name = rendered.name();
+        this.lastname = rendered.lastname();
+        this.periodLabel = rendered.period();
+        this.salaryLabel = rendered.salary();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public Long getSalary() {
+        return salary;
+    }
+
+    public PaymentDto toDto() {
+        return new PaymentDto(name, lastname, periodLabel, salaryLabel);
+    }
+}
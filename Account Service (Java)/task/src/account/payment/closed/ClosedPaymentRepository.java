@@ -0,0 +1,24 @@
+package account.payment.closed;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ClosedPaymentRepository extends CrudRepository<ClosedPayment, Long> {
+    Optional<ClosedPayment> findByUserIdAndPeriod(Long userId, String period);
+    List<ClosedPayment> findByUserIdOrderByPeriodDesc(Long userId);
+
+    // Same archive as PaymentRepository.archiveByUserIdIn; the rows themselves go with the user.
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into payments_archive (id, user_id, email, period, salary, archived_at) "
+        + "select c.id, c.user_id, u.email, c.period, c.salary, current_timestamp "
+        + "from closed_payments c join users u on u.id = c.user_id where c.user_id in (:userIds)")
+    int archiveByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,43 @@
+package account.payment.closed;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "closed_periods")
+public class ClosedPeriod {
+
+    @Id
+    @Column(name = "period")
+    private String period;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    @Column(name = "closed_by")
+    private String closedBy;
+
+    public ClosedPeriod() {}
+
+    public ClosedPeriod(String period, LocalDateTime closedAt, String closedBy) {
+        this.period = period;
+        this.closedAt = closedAt;
+        this.closedBy = closedBy;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public String getClosedBy() {
+        return closedBy;
+    }
+}
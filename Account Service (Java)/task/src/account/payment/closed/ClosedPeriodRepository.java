@@ -0,0 +1,8 @@
+package account.payment.closed;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClosedPeriodRepository extends CrudRepository<ClosedPeriod, String> {
+}
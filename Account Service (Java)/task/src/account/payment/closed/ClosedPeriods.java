@@ -0,0 +1,112 @@
+package account.payment.closed;
+
+import account.exceptionhandler.ErrorCode;
+import account.exceptionhandler.exception.InvalidPaymentException;
+import account.payment.dto.PaymentDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// The set of closed periods and the rendered payments read from them. A closed payment never changes
+// and a period never reopens, so both are cached for the life of the process without invalidation.
+// Payment writes hold the read lock across their transaction and a close holds the write lock, so no
+// payment lands in a period after its rows were copied. The lock is in-process, like UserLocks.
+@Component
+public class ClosedPeriods {
+
+    private final ClosedPeriodRepository closedPeriodRepository;
+    private final ClosedPaymentRepository closedPaymentRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Optional<PaymentDto>> payments = new ConcurrentHashMap<>();
+    private volatile Set<String> closed;
+
+    @Autowired
+    public ClosedPeriods(ClosedPeriodRepository closedPeriodRepository,
+                         ClosedPaymentRepository closedPaymentRepository) {
+        this.closedPeriodRepository = closedPeriodRepository;
+        this.closedPaymentRepository = closedPaymentRepository;
+    }
+
+    public boolean isClosed(String period) {
+        return closed().contains(period);
+    }
+
+    public boolean anyClosed() {
+        return !closed().isEmpty();
+    }
+
+    public void whileOpen(Collection<String> periods, Runnable write) {
+        whileOpen(periods, () -> {
+            write.run();
+            return null;
+        });
+    }
+
+    public <T> T whileOpen(Collection<String> periods, Supplier<T> write) {
+        lock.readLock().lock();
+        try {
+            for (String period : periods) {
+                if (isClosed(period)) throw new InvalidPaymentException(ErrorCode.PERIOD_CLOSED);
+            }
+            return write.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public <T> T close(String period, Supplier<T> close) {
+        lock.writeLock().lock();
+        try {
+            if (isClosed(period)) throw new InvalidPaymentException(ErrorCode.PERIOD_CLOSED);
+            T result = close.get();
+            Set<String> updated = new HashSet<>(closed());
+            updated.add(period);
+            closed = Set.copyOf(updated);
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<PaymentDto> payment(Long userId, String period) {
+        String key = userId + "/" + period;
+        Optional<PaymentDto> payment = payments.get(key);
+        if (payment != null) return payment;
+        payment = closedPaymentRepository.findByUserIdAndPeriod(userId, period).map(ClosedPayment::toDto);
+        payments.putIfAbsent(key, payment);
+        return payment;
+    }
+
+    public List<ClosedPayment> payments(Long userId) {
+        return closedPaymentRepository.findByUserIdOrderByPeriodDesc(userId);
+    }
+
+    //Helper Methods
+
+    // Loaded on first use under the read lock: no close can commit while it is held, so concurrent
+    // loads all read the same rows.
+    private Set<String> closed() {
+        Set<String> current = closed;
+        if (current != null) return current;
+        lock.readLock().lock();
+        try {
+            if (closed == null) {
+                Set<String> loaded = new HashSet<>();
+                for (ClosedPeriod period : closedPeriodRepository.findAll()) loaded.add(period.getPeriod());
+                closed = Set.copyOf(loaded);
+            }
+            return closed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package account.payment.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record PeriodClosedDto(@NotBlank String period, int payments, @NotBlank String status) {
+}
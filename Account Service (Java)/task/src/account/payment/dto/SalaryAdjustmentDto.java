@@ -0,0 +1,7 @@
+package account.payment.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record SalaryAdjustmentDto(@NotBlank String period, long payments, String totalBefore, String totalAfter,
+                                  @NotBlank String status) {
+}
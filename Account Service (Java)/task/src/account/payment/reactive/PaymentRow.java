@@ -0,0 +1,4 @@
+package account.payment.reactive;
+
+public record PaymentRow(String period, Long salary) {
+}
@@ -0,0 +1,62 @@
+package account.payment.reactive;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+// Reads the same H2 database the JPA side writes, through its own small R2DBC pool. Spring Boot's R2DBC
+// auto-configuration is excluded in application.properties so its transaction manager cannot replace
+// the JPA one.
+@Configuration
+@ConditionalOnProperty(name = "payment.read.reactive", havingValue = "true")
+public class ReactivePaymentConfig {
+
+    private static final String JDBC_H2_PREFIX = "jdbc:h2:";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool paymentReadConnectionPool(DataSourceProperties dataSourceProperties,
+                                                    MeterRegistry meterRegistry,
+                                                    @Value("${payment.read.pool.max-size:10}") int maxSize) {
+        String url = dataSourceProperties.determineUrl();
+        if (!url.startsWith(JDBC_H2_PREFIX)) {
+            throw new IllegalStateException("The reactive payment read path only supports H2, not " + url);
+        }
+        H2ConnectionConfiguration.Builder connection = H2ConnectionConfiguration.builder()
+            .url(url.substring(JDBC_H2_PREFIX.length()));
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        if (username != null) connection.username(username);
+        if (password != null) connection.password(password);
+
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration
+            .builder(new H2ConnectionFactory(connection.build()))
+            .name("payment-read")
+            .initialSize(0)
+            .maxSize(maxSize)
+            .maxIdleTime(Duration.ofMinutes(5))
+            .build());
+        pool.getMetrics().ifPresent(metrics -> {
+            Gauge.builder("r2dbc.pool.acquired", metrics, PoolMetrics::acquiredSize).register(meterRegistry);
+            Gauge.builder("r2dbc.pool.allocated", metrics, PoolMetrics::allocatedSize).register(meterRegistry);
+            Gauge.builder("r2dbc.pool.pending", metrics, PoolMetrics::pendingAcquireSize).register(meterRegistry);
+        });
+        return pool;
+    }
+
+    @Bean
+    public ReactivePaymentRepository reactivePaymentRepository(ConnectionPool paymentReadConnectionPool) {
+        return new ReactivePaymentRepository(DatabaseClient.create(paymentReadConnectionPool));
+    }
+}
@@ -0,0 +1,94 @@
+package account.payment.reactive;
+
+import account.payment.PaymentReadMetrics;
+import account.payment.dto.PaymentDto;
+import account.user.UserAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Serves GET /api/empl/payment without holding a servlet thread: the request goes async as soon as
+// the handler returns and the JSON array is written element by element as rows arrive.
+@RestController
+@ConditionalOnProperty(name = "payment.read.reactive", havingValue = "true")
+public class ReactivePaymentReadController {
+
+    private static final long STREAM_TIMEOUT_MILLIS = 30_000L;
+
+    @Autowired
+    ReactivePaymentService reactivePaymentService;
+    @Autowired
+    PaymentReadMetrics paymentReadMetrics;
+
+    @GetMapping(path = "/api/empl/payment", params = "period")
+    public Mono<ResponseEntity<PaymentDto>> getPayment(
+        @RequestParam String period, @AuthenticationPrincipal UserAdapter user) {
+        return reactivePaymentService.getPayment(period, user)
+            .map(payment -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(payment))
+            .doOnSubscribe(subscription -> paymentReadMetrics.started())
+            .doFinally(signal -> paymentReadMetrics.finished());
+    }
+
+    // The status is only decided once the user is known to exist, so a missing user still gets the
+    // NotFoundException body; the emitter is created for the success response alone. The read counts as
+    // finished when the stream ends, or here when it never starts.
+    @GetMapping(path = "/api/empl/payment", params = "!period")
+    public Mono<ResponseEntity<ResponseBodyEmitter>> getAllPayments(@AuthenticationPrincipal UserAdapter user) {
+        return reactivePaymentService.getAllPayments(user)
+            .map(payments -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(stream(payments)))
+            .doOnSubscribe(subscription -> paymentReadMetrics.started())
+            .doFinally(signal -> {
+                if (signal != SignalType.ON_COMPLETE) paymentReadMetrics.finished();
+            });
+    }
+
+    // A client that disconnects, or the emitter timing out, ends the response but not the Flux, so every
+    // way the emitter finishes cancels the subscription; the read is then counted as finished at once.
+    private ResponseBodyEmitter stream(Flux<PaymentDto> payments) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(STREAM_TIMEOUT_MILLIS);
+        AtomicBoolean first = new AtomicBoolean(true);
+        Disposable subscription = payments
+            .doFinally(signal -> paymentReadMetrics.finished())
+            .subscribe(
+                payment -> send(emitter, first.getAndSet(false) ? "[" : ",", payment),
+                emitter::completeWithError,
+                () -> {
+                    try {
+                        emitter.send(first.get() ? "[]" : "]", MediaType.APPLICATION_JSON);
+                        emitter.complete();
+                    } catch (IOException e) {
+                        emitter.completeWithError(e);
+                    }
+                });
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        emitter.onCompletion(subscription::dispose);
+        return emitter;
+    }
+
+    private void send(ResponseBodyEmitter emitter, String separator, PaymentDto payment) {
+        try {
+            emitter.send(separator, MediaType.APPLICATION_JSON);
+            emitter.send(payment, MediaType.APPLICATION_JSON);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package account.payment.reactive;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactivePaymentRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactivePaymentRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Boolean> existsByEmail(String email) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE email = :email")
+            .bind("email", email)
+            .map((row, metadata) -> Boolean.TRUE)
+            .first()
+            .hasElement();
+    }
+
+    public Mono<PaymentRow> findByUserIdAndPeriod(Long userId, String period) {
+        return databaseClient.sql("SELECT period, salary FROM payments WHERE user_id = :userId AND period = :period")
+            .bind("userId", userId)
+            .bind("period", period)
+            .map((row, metadata) -> new PaymentRow(row.get("period", String.class), row.get("salary", Long.class)))
+            .first();
+    }
+
+    public Flux<PaymentRow> findByUserIdOrderByPeriodDesc(Long userId) {
+        return databaseClient.sql("SELECT period, salary FROM payments WHERE user_id = :userId ORDER BY period DESC")
+            .bind("userId", userId)
+            .map((row, metadata) -> new PaymentRow(row.get("period", String.class), row.get("salary", Long.class)))
+            .all();
+    }
+}
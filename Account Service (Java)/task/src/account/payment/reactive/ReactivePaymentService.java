@@ -0,0 +1,88 @@
+package account.payment.reactive;
+
+import account.exceptionhandler.ErrorCode;
+import account.exceptionhandler.exception.NotFoundException;
+import account.exceptionhandler.exception.PaymentDoesNotExistException;
+import account.payment.Payment;
+import account.payment.PaymentService;
+import account.payment.closed.ClosedPeriods;
+import account.payment.dto.PaymentDto;
+import account.user.UserAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@ConditionalOnProperty(name = "payment.read.reactive", havingValue = "true")
+public class ReactivePaymentService {
+
+    ReactivePaymentRepository reactivePaymentRepository;
+    PaymentService paymentService;
+    ClosedPeriods closedPeriods;
+
+    @Autowired
+    public ReactivePaymentService(ReactivePaymentRepository reactivePaymentRepository, PaymentService paymentService,
+                                  ClosedPeriods closedPeriods) {
+        this.reactivePaymentRepository = reactivePaymentRepository;
+        this.paymentService = paymentService;
+        this.closedPeriods = closedPeriods;
+    }
+
+    //Business logic
+
+    // r2dbc-h2 runs H2's embedded engine on the subscribing thread, so queries are moved off the
+    // request thread onto the bounded elastic scheduler.
+    public Mono<PaymentDto> getPayment(String period, UserAdapter user) {
+        String email = user.getEmail().toLowerCase();
+        // Closed periods come from the cache in ClosedPeriods, which is blocking JPA on a miss.
+        if (closedPeriods.isClosed(period)) {
+            return validateUserExists(email)
+                .then(Mono.fromCallable(() -> closedPeriods.payment(user.getId(), period).orElse(null)))
+                .switchIfEmpty(Mono.error(() -> new PaymentDoesNotExistException(ErrorCode.PAYMENT_NOT_FOUND)))
+                .subscribeOn(Schedulers.boundedElastic());
+        }
+        return validateUserExists(email)
+            .then(reactivePaymentRepository.findByUserIdAndPeriod(user.getId(), period))
+            .switchIfEmpty(Mono.error(() -> new PaymentDoesNotExistException(ErrorCode.PAYMENT_NOT_FOUND)))
+            .map(row -> buildPaymentDto(row, user))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Resolves once the user is known to exist, so a missing user fails before any response is committed;
+    // the payments themselves are read when the returned Flux is subscribed.
+    public Mono<Flux<PaymentDto>> getAllPayments(UserAdapter user) {
+        return validateUserExists(user.getEmail().toLowerCase())
+            .then(Mono.fromSupplier(() -> payments(user)))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    //Helper Methods
+
+    private Flux<PaymentDto> payments(UserAdapter user) {
+        if (closedPeriods.anyClosed()) {
+            return reactivePaymentRepository.findByUserIdOrderByPeriodDesc(user.getId())
+                .map(row -> new Payment(user.getId(), row.period(), row.salary()))
+                .collectList()
+                .zipWith(Mono.fromCallable(() -> closedPeriods.payments(user.getId())))
+                .flatMapIterable(rows -> paymentService.mergeByPeriodDesc(rows.getT1(), rows.getT2(), user))
+                .subscribeOn(Schedulers.boundedElastic());
+        }
+        return reactivePaymentRepository.findByUserIdOrderByPeriodDesc(user.getId())
+            .map(row -> buildPaymentDto(row, user))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private PaymentDto buildPaymentDto(PaymentRow row, UserAdapter user) {
+        return paymentService.buildPaymentDto(new Payment(user.getId(), row.period(), row.salary()), user);
+    }
+
+    //Validation Methods
+
+    public Mono<Void> validateUserExists(String email) {
+        return reactivePaymentRepository.existsByEmail(email)
+            .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.error(new NotFoundException(ErrorCode.USER_NOT_FOUND)));
+    }
+}
@@ -0,0 +1,9 @@
+package account.payment.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+public record PeriodCloseRequest(
+    @NotBlank
+    @Pattern(regexp = "(0[1-9]|1[0-2])-(19|20)\\d{2}", message = "Invalid date!")
+    String period){}
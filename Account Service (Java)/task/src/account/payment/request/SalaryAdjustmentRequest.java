@@ -0,0 +1,26 @@
+package account.payment.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Either a percentage or a fixed amount in cents, applied to every payment of the period whose
+// employee matches both optional filters: a role, and a list of employees.
+public record SalaryAdjustmentRequest(
+    @NotBlank
+    @Pattern(regexp = "(0[1-9]|1[0-2])-(19|20)\\d{2}", message = "Invalid date!")
+    String period,
+    @DecimalMin(value = "-100", message = "A salary cannot drop more than 100%!")
+    @Digits(integer = 4, fraction = 4, message = "Invalid percent!")
+    BigDecimal percent,
+    Long amount,
+    String role,
+    @Size(max = 1000, message = "At most 1000 employees per adjustment!")
+    List<@NotBlank @Email String> employees,
+    boolean preview){}
@@ -0,0 +1,25 @@
+package account.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+// Training run for the class-data-sharing archive (see the cdsArchive Gradle task): once the
+// application is fully started every class the boot path needs has been loaded, so the JVM exits and
+// -XX:ArchiveClassesAtExit writes them to the archive.
+@Component
+@ConditionalOnProperty(name = "startup.exit-after-refresh", havingValue = "true")
+public class TrainingRunExit implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainingRunExit.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("startup.exit-after-refresh is set; exiting after startup in {} ms", event.getTimeTaken().toMillis());
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,74 @@
+package account.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory email -> id of known users, so payroll does not ask the database for an employee's id for
+// every row. A hit is trusted, a miss is checked against the table by the caller and then recorded
+// here. Registrations and deletes on this instance are applied as they commit; the scheduled
+// reconciliation rebuilds the directory from the table to pick up writes made elsewhere and to drop
+// users deleted elsewhere. Until then a write with a stale id fails on the user foreign key, and the
+// caller drops the entry through UserService.forgetDeleted.
+@Component
+public class EmployeeDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeDirectory.class);
+
+    private final UserRepository userRepository;
+
+    private volatile Map<String, Long> ids = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public EmployeeDirectory(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+
+        this.hits = meterRegistry.counter("employee.directory.hits");
+        this.misses = meterRegistry.counter("employee.directory.misses");
+        Gauge.builder("employee.directory.entries", this, d -> d.ids.size()).register(meterRegistry);
+    }
+
+    public Long idOf(String email) {
+        Long id = ids.get(email.toLowerCase());
+        (id == null ? misses : hits).increment();
+        return id;
+    }
+
+    public boolean contains(String email) {
+        return idOf(email) != null;
+    }
+
+    public void added(String email, Long id) {
+        ids.put(email.toLowerCase(), id);
+    }
+
+    public void removed(String email) {
+        ids.remove(email.toLowerCase());
+    }
+
+    // A registration or delete that lands while the table is being read may be lost by the swap: a lost
+    // registration costs one database check on the next miss, a lost delete lasts until the next run.
+    @Scheduled(initialDelayString = "${employee-directory.reconcile-millis:300000}",
+               fixedDelayString = "${employee-directory.reconcile-millis:300000}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        List<UserKey> users = userRepository.findAllKeys();
+        Map<String, Long> rebuilt = new ConcurrentHashMap<>(users.size() * 2);
+        for (UserKey user : users) rebuilt.put(user.email(), user.id());
+        ids = rebuilt;
+        log.info("Employee directory reconciled with {} users in {} ms", users.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,29 @@
+package account.user;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "registration_state")
+public class RegistrationState {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "admin_claimed")
+    private boolean adminClaimed;
+
+    public RegistrationState() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public boolean isAdminClaimed() {
+        return adminClaimed;
+    }
+}
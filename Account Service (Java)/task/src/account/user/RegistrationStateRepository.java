@@ -0,0 +1,16 @@
+package account.user;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RegistrationStateRepository extends CrudRepository<RegistrationState, Integer> {
+
+    // Concurrent callers queue on the row lock and re-check the condition once the holder commits,
+    // so exactly one transaction sees an update count of 1.
+    @Modifying
+    @Query("update RegistrationState s set s.adminClaimed = true where s.id = 1 and s.adminClaimed = false")
+    int claimAdministrator();
+}
@@ -1,16 +1,11 @@
 package account.user;
 
-import account.authority.Authority;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
-
-
 @Entity
 @Table(name = "users")
 public class User {
@@ -38,23 +33,20 @@ public class User {
     @NotBlank(message = "password is blank")
     private String password;
 
-    @ManyToMany(cascade = CascadeType.PERSIST, fetch = FetchType.EAGER)
-    @JoinTable(
-        name="user_authorities",
-        joinColumns = @JoinColumn(name = "user_id"),
-        inverseJoinColumns = @JoinColumn(name ="authority_id"))
-    private Set<Authority> authorities = new LinkedHashSet<>();
+    // Bit set of account.authority.Role, decoded through RoleMask.
+    @Column(name = "roles")
+    private int roles;
 
 
     public User() {
     }
 
-    public User(String name, String lastname, String email, String password, Set<Authority> authorities) {
+    public User(String name, String lastname, String email, String password, int roles) {
         this.name = name;
         this.lastname = lastname;
         this.email = email;
         this.password = password;
-        this.authorities = authorities;
+        this.roles = roles;
     }
 
     public String getName() {
@@ -86,6 +78,10 @@ public class User {
         return id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getPassword() {
         return password;
     }
@@ -94,11 +90,12 @@ public class User {
         this.password = password;
     }
 
-    public Set<Authority> getAuthorities() {
-        return authorities;
+    public int getRoles() {
+        return roles;
     }
-    public void setAuthorities(Set<Authority> authorities) {
-        this.authorities = authorities;
+
+    public void setRoles(int roles) {
+        this.roles = roles;
     }
 
 }
@@ -2,17 +2,29 @@ package account.user;
 
 import account.authority.request.RoleChangeRequest;
 import account.user.request.PasswordChangeRequest;
+import account.user.request.UserDeprovisionRequest;
 import account.user.request.UserRegistrationRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
+// @Validated so the constraints on the bulk role change list, which MVC does not apply to a List body,
+// are checked by method validation and reported as a ConstraintViolationException.
 @RestController
+@Validated
 public class UserController {
     @Autowired
     UserService userService;
+    @Autowired
+    UserDeprovisionService userDeprovisionService;
 
     @GetMapping(path = "/api/admin/user/")
     public ResponseEntity<?> getUsers(@AuthenticationPrincipal UserAdapter user){
@@ -26,6 +38,13 @@ public class UserController {
     public ResponseEntity<?> setRoles(@RequestBody RoleChangeRequest request){
         return userService.handleRoleChange(request);
     }
+    @PutMapping(path = "/api/admin/user/roles")
+    public ResponseEntity<?> setRolesInBulk(
+        @NotEmpty(message = "Role changes cannot be empty")
+        @Size(max = 1000, message = "At most 1000 role changes per request!")
+        @RequestBody List<@NotNull @Valid RoleChangeRequest> requests){
+        return userService.handleBulkRoleChange(requests);
+    }
     @PostMapping(path = "/api/auth/changepass")
     public ResponseEntity<?> changePass(
         @RequestBody PasswordChangeRequest newPassword, @AuthenticationPrincipal UserAdapter user) {
@@ -35,4 +54,8 @@ public class UserController {
     public ResponseEntity<?> deleteUser(@PathVariable String email){
         return userService.handleUserDelete(email);
     }
+    @PostMapping(path = "/api/admin/user/deprovision")
+    public ResponseEntity<?> deprovisionUsers(@Valid @RequestBody UserDeprovisionRequest request){
+        return userDeprovisionService.handleDeprovision(request);
+    }
 }
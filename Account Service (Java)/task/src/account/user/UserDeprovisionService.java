@@ -0,0 +1,114 @@
+package account.user;
+
+import account.audit.AuditAction;
+import account.audit.AuditService;
+import account.authority.Role;
+import account.authority.RoleMask;
+import account.datasource.ReadYourWritesTracker;
+import account.exceptionhandler.ErrorCode;
+import account.payment.PaymentRepository;
+import account.payment.closed.ClosedPaymentRepository;
+import account.user.dto.UserDeletedDto;
+import account.user.request.UserDeprovisionRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class UserDeprovisionService {
+
+    private static final String DELETED = "Deleted successfully!";
+
+    UserRepository userRepository;
+    PaymentRepository paymentRepository;
+    ClosedPaymentRepository closedPaymentRepository;
+    AuditService auditService;
+    ReadYourWritesTracker readYourWritesTracker;
+    UserLocks userLocks;
+    EmployeeDirectory employeeDirectory;
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public UserDeprovisionService(UserRepository userRepository, PaymentRepository paymentRepository,
+                                  ClosedPaymentRepository closedPaymentRepository,
+                                  AuditService auditService, ReadYourWritesTracker readYourWritesTracker,
+                                  UserLocks userLocks, EmployeeDirectory employeeDirectory,
+                                  PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.paymentRepository = paymentRepository;
+        this.closedPaymentRepository = closedPaymentRepository;
+        this.auditService = auditService;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.userLocks = userLocks;
+        this.employeeDirectory = employeeDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    //Business logic
+
+    // A whole batch costs one select for the users, optionally two insert-selects into the archive (open
+    // and closed payments), one delete for their payments and one for the users, all in one transaction.
+    // Unknown emails and administrators are reported per email and left alone; they do not fail the
+    // batch. The stripes of every named user are held until commit, like the single-user mutations in
+    // UserService.
+    public ResponseEntity<UserDeletedDto[]> handleDeprovision(UserDeprovisionRequest request) {
+        Set<String> emails = new LinkedHashSet<>();
+        for (String email : request.emails()) emails.add(email.toLowerCase());
+        UserDeletedDto[] outcomes = userLocks.withLocks(emails,
+                () -> transactionTemplate.execute(status -> deprovision(emails, request.archivePayments())));
+        for (UserDeletedDto outcome : outcomes) {
+            if (DELETED.equals(outcome.status())) employeeDirectory.removed(outcome.user());
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outcomes);
+    }
+
+    //Helper Methods
+
+    private UserDeletedDto[] deprovision(Set<String> emails, boolean archivePayments) {
+        Map<String, UserKey> users = new HashMap<>();
+        for (UserKey user : userRepository.findKeysByEmailIn(emails)) users.put(user.email(), user);
+
+        List<UserDeletedDto> outcomes = new ArrayList<>(emails.size());
+        List<Long> ids = new ArrayList<>(users.size());
+        List<String> deleted = new ArrayList<>(users.size());
+        for (String email : emails) {
+            UserKey user = users.get(email);
+            if (user == null) {
+                outcomes.add(new UserDeletedDto(email, ErrorCode.USER_NOT_FOUND.message()));
+            } else if (RoleMask.has(user.roles(), Role.ADMINISTRATOR)) {
+                outcomes.add(new UserDeletedDto(email, ErrorCode.ADMINISTRATOR_REMOVAL.message()));
+            } else {
+                ids.add(user.id());
+                deleted.add(email);
+                outcomes.add(new UserDeletedDto(email, DELETED));
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            if (archivePayments) {
+                paymentRepository.archiveByUserIdIn(ids);
+                closedPaymentRepository.archiveByUserIdIn(ids);
+            }
+            paymentRepository.deleteByUserIdIn(ids);
+            userRepository.deleteByIdIn(ids);
+        }
+        for (String email : deleted) {
+            readYourWritesTracker.markWritten(email);
+            auditService.publish(AuditAction.DELETE_USER, email);
+        }
+        return outcomes.toArray(UserDeletedDto[]::new);
+    }
+}
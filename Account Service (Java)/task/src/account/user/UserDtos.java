@@ -0,0 +1,36 @@
+package account.user;
+
+import account.authority.RoleMask;
+import account.jfr.DtoBuildEvent;
+import account.user.dto.UserDto;
+
+import java.util.Comparator;
+import java.util.List;
+
+// Renders users for responses. Reads only the entities, so it can be used and measured without
+// UserService and its collaborators.
+public final class UserDtos {
+
+    private UserDtos() {
+    }
+
+    public static UserDto of(User user) {
+        DtoBuildEvent event = new DtoBuildEvent(UserDto.class);
+        event.begin();
+        UserDto userDto = new UserDto(
+            user.getId(),
+            user.getName(),
+            user.getLastName(),
+            user.getEmail(),
+            RoleMask.names(user.getRoles()));
+        event.commit();
+        return userDto;
+    }
+
+    public static UserDto[] sortedById(List<User> users) {
+        return users.stream()
+                .map(UserDtos::of)
+                .sorted(Comparator.comparing(UserDto::id))
+                .toArray(UserDto[]::new);
+    }
+}
@@ -0,0 +1,5 @@
+package account.user;
+
+// The columns lookups by email need, read without materializing the User entity.
+public record UserKey(Long id, String email, int roles) {
+}
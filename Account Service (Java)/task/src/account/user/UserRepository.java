@@ -2,16 +2,36 @@ package account.user;
 
 import account.user.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface UserRepository extends CrudRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long> {
   boolean existsByEmail(String email);
-  void deleteByEmail(String email);
   Optional<User> findByEmail(String email);
+  List<User> findAllByEmailIn(Collection<String> emails);
   List<User> findAll();
 
+  @Query("select u.id from User u where u.email = :email")
+  Optional<Long> findIdByEmail(@Param("email") String email);
+
+  @Query("select new account.user.UserKey(u.id, u.email, u.roles) from User u where u.email = :email")
+  Optional<UserKey> findKeyByEmail(@Param("email") String email);
+
+  @Query("select new account.user.UserKey(u.id, u.email, u.roles) from User u where u.email in :emails")
+  List<UserKey> findKeysByEmailIn(@Param("emails") Collection<String> emails);
+
+  @Query("select new account.user.UserKey(u.id, u.email, u.roles) from User u")
+  List<UserKey> findAllKeys();
+
+  @Modifying
+  @Query("delete from User u where u.id in :ids")
+  int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
 }
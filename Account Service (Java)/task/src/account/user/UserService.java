@@ -1,9 +1,14 @@
 package account.user;
 
 import account.BreachedPasswords;
+import account.audit.AuditAction;
+import account.audit.AuditService;
+import account.datasource.ReadYourWritesTracker;
 import account.authority.AuthorityService;
 import account.payment.dto.UpdateSuccessfulDto;
-import account.authority.Authority;
+import account.authority.Role;
+import account.authority.RoleMask;
+import account.exceptionhandler.ErrorCode;
 import account.exceptionhandler.exception.InsufficientPasswordException;
 import account.exceptionhandler.exception.InvalidChangeException;
 import account.exceptionhandler.exception.NotFoundException;
@@ -12,152 +17,274 @@ import account.authority.request.RoleChangeRequest;
 import account.user.dto.UserDeletedDto;
 import account.user.dto.UserDto;
 import account.user.request.UserRegistrationRequest;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 public class UserService implements UserDetailsService {
 
-    @Bean
-    BCryptPasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(13); }
+    PasswordEncoder passwordEncoder;
     UserRepository userRepository;
     AuthorityService authorityService;
     BreachedPasswords breachedPasswords;
+    AuditService auditService;
+    ReadYourWritesTracker readYourWritesTracker;
+    RegistrationStateRepository registrationStateRepository;
+    UserLocks userLocks;
+    EmployeeDirectory employeeDirectory;
+    TransactionTemplate transactionTemplate;
+    // Set once this instance has seen the persisted flag claimed; administrators cannot be deleted, so
+    // it never goes back and later signups skip the update.
+    private final AtomicBoolean administratorClaimed = new AtomicBoolean();
 
     @Autowired
     public UserService(UserRepository userRepository, BreachedPasswords breachedPasswords,
-                       AuthorityService authorityService) {
+                       AuthorityService authorityService, AuditService auditService,
+                       ReadYourWritesTracker readYourWritesTracker, PasswordEncoder passwordEncoder,
+                       RegistrationStateRepository registrationStateRepository, UserLocks userLocks,
+                       EmployeeDirectory employeeDirectory, PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.breachedPasswords = breachedPasswords;
         this.authorityService = authorityService;
+        this.auditService = auditService;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.passwordEncoder = passwordEncoder;
+        this.registrationStateRepository = registrationStateRepository;
+        this.userLocks = userLocks;
+        this.employeeDirectory = employeeDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     //Business Logic
 
+    @Transactional(readOnly = true)
     public ResponseEntity<UserDto[]> handleGetUsers(){
         if (userRepository.count() == 0) return ResponseEntity.ok().body(new UserDto[]{});
-        UserDto[] allUsers =  buildUserDtoArray(userRepository.findAll());
+        UserDto[] allUsers =  UserDtos.sortedById(userRepository.findAll());
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(allUsers);
     }
 
-    @Transactional
+    // Hashing happens before the transaction so no connection is held during BCrypt. Uniqueness is left
+    // to uk_users_email: the insert either succeeds or fails with the duplicate, in one round trip.
     public ResponseEntity<UserDto> register(UserRegistrationRequest newUser) {
-        validateUniqueEmail(newUser.email());
         validateNewPassword(newUser.password());
-        User user = buildUser(newUser);
-        userRepository.save(user);
+        String encodedPassword = passwordEncoder.encode(newUser.password());
+        User user = transactionTemplate.execute(status -> insertUser(newUser, encodedPassword));
+        readYourWritesTracker.markWritten(user.getEmail());
+        employeeDirectory.added(user.getEmail(), user.getId());
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(buildUserDto(user));
+                .body(UserDtos.of(user));
     }
 
-    public ResponseEntity<?> handleRoleChange(RoleChangeRequest request){
-        User user = loadUser(request.user());
-        authorityService.validateRoleExists(request.role());
-        if (request.operation().equalsIgnoreCase("grant")) return handleRoleGrant(request, user);
-        if (request.operation().equalsIgnoreCase("remove")) return handleRoleRemove(request, user);
-        else throw new NotFoundException("");
-    }
-
-    private ResponseEntity<UserDto> handleRoleRemove(RoleChangeRequest request, User user) {
-        Set<Authority> currentAuthorities = user.getAuthorities();
-        authorityService.validateRoleRemoval(request, currentAuthorities);
-        Set<Authority> newAuthorities = authorityService.modifyUserAuthority(currentAuthorities, request);
-
-        user.setAuthorities(newAuthorities);
-        userRepository.save(user);
-
+    // User mutations run under the user's stripe in UserLocks, which is held until the transaction has
+    // committed, so concurrent changes to one user cannot overwrite each other.
+    public ResponseEntity<UserDto> handleRoleChange(RoleChangeRequest request){
+        User user = userLocks.withLock(request.user(), () -> transactionTemplate.execute(status -> {
+            User changed = loadUser(request.user());
+            applyRoleChange(request, changed);
+            userRepository.save(changed);
+            auditRoleChange(request, changed);
+            return changed;
+        }));
+        readYourWritesTracker.markWritten(user.getEmail());
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(buildUserDto(user));
+                .body(UserDtos.of(user));
     }
 
-    private ResponseEntity<?> handleRoleGrant(RoleChangeRequest request, User user) {
-        Authority newAuthority = authorityService.getAuthoritybyRole(request.role());
-        Set<Authority> currentAuthorities = user.getAuthorities();
-        authorityService.validateNoRoleConflict(currentAuthorities, newAuthority);
-        currentAuthorities.add(newAuthority);
-        user.setAuthorities(currentAuthorities);
-        userRepository.save(user);
+    // The users are read with one select and every change is checked against the catalog and group rules
+    // in memory, in request order, so a later change sees the earlier ones. Nothing is written unless
+    // the whole batch is valid; the changed users are then flushed as batched updates on commit.
+    public ResponseEntity<UserDto[]> handleBulkRoleChange(List<RoleChangeRequest> requests){
+        Set<String> emails = new HashSet<>();
+        for (RoleChangeRequest request : requests) emails.add(request.user().toLowerCase());
+        Collection<User> changed = userLocks.withLocks(emails,
+                () -> transactionTemplate.execute(status -> applyRoleChanges(requests, emails)));
+        for (User user : changed) readYourWritesTracker.markWritten(user.getEmail());
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(buildUserDto(user));
+                .body(changed.stream().map(UserDtos::of).toArray(UserDto[]::new));
     }
 
-    @Transactional
+    // The password is hashed before the user's stripe is taken, so BCrypt never holds it.
     public ResponseEntity<UpdateSuccessfulDto> updatePassword(String newPassword, UserAdapter user) {
         validatePasswordLength(newPassword);
         validateUniquePassword(newPassword, user.getPassword());
         breachedPasswords.validatePasswordBreached(newPassword);
+        String encodedPassword = passwordEncoder.encode(newPassword);
 
-        User updatedUser = loadUser(user.getEmail());
-        updatedUser.setPassword(passwordEncoder().encode(newPassword));
-        userRepository.save(updatedUser);
+        userLocks.withLock(user.getEmail(), () -> transactionTemplate.execute(status -> {
+            User updatedUser = loadUser(user.getEmail());
+            updatedUser.setPassword(encodedPassword);
+            userRepository.save(updatedUser);
+            auditService.publish(AuditAction.CHANGE_PASSWORD, updatedUser.getEmail(), updatedUser.getEmail());
+            return updatedUser;
+        }));
 
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(new UpdateSuccessfulDto(user.getEmail(), "The password has been updated successfully"));
     }
 
-    @Transactional
     public ResponseEntity<UserDeletedDto> handleUserDelete(String email) {
-        User user = loadUser(email);
-        if (getRoles(user).contains("ROLE_ADMINISTRATOR")) {
-            throw new InvalidChangeException("Can't remove ADMINISTRATOR role!");
-        }
-        userRepository.deleteByEmail(email);
+        UserKey user = userLocks.withLock(email, () -> transactionTemplate.execute(status -> deleteUser(email)));
+        readYourWritesTracker.markWritten(user.email());
+        employeeDirectory.removed(user.email());
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(new UserDeletedDto(email, "Deleted successfully!"));
     }
 
+    @Transactional(readOnly = true)
     public User loadUser (String email) {
         return userRepository.findByEmail(email.toLowerCase())
-                .orElseThrow(() -> new NotFoundException("User not found!"));
+                .orElseThrow(() -> new NotFoundException(ErrorCode.USER_NOT_FOUND));
+    }
+
+    @Transactional(readOnly = true)
+    public Long loadUserId(String email) {
+        Long id = employeeDirectory.idOf(email);
+        if (id != null) return id;
+        id = userRepository.findIdByEmail(email.toLowerCase())
+                .orElseThrow(() -> new NotFoundException(ErrorCode.USER_NOT_FOUND));
+        employeeDirectory.added(email, id);
+        return id;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, User> loadUsers(Collection<Long> ids) {
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(ids)) users.put(user.getId(), user);
+        return users;
+    }
+
+    // Ids of the given emails keyed by lower-cased email; unknown emails are absent. Emails the
+    // directory knows cost nothing, the rest are looked up together in one query.
+    @Transactional(readOnly = true)
+    public Map<String, Long> resolveUserIds(Collection<String> emails) {
+        Map<String, Long> ids = new HashMap<>();
+        Set<String> unresolved = new HashSet<>();
+        for (String email : emails) {
+            String normalized = email.toLowerCase();
+            if (ids.containsKey(normalized) || unresolved.contains(normalized)) continue;
+            Long id = employeeDirectory.idOf(normalized);
+            if (id != null) ids.put(normalized, id);
+            else unresolved.add(normalized);
+        }
+        if (unresolved.isEmpty()) return ids;
+        for (UserKey key : userRepository.findKeysByEmailIn(unresolved)) {
+            ids.put(key.email(), key.id());
+            employeeDirectory.added(key.email(), key.id());
+        }
+        return ids;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email.toLowerCase())
+        User user = readYourWritesTracker.readAs(email, () -> userRepository.findByEmail(email.toLowerCase()))
                 .orElseThrow(() -> new UsernameNotFoundException(("")));
-        return new UserAdapter(user, getUserAuthorities(user));
+        return new UserAdapter(user, RoleMask.authorities(user.getRoles()));
+    }
+
+    private User insertUser(UserRegistrationRequest newUser, String encodedPassword) {
+        User user = buildUser(newUser, encodedPassword, authorityService.initialRoles(claimAdministrator()));
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) throw new UserExistsException(ErrorCode.USER_EXISTS);
+            throw e;
+        }
+        auditService.publish(AuditAction.CREATE_USER, user.getEmail());
+        return user;
     }
 
-    private Collection<? extends GrantedAuthority> getUserAuthorities(User user) {
-        return getRoles(user).stream()
-                .map(role -> new SimpleGrantedAuthority(role))
-                .collect(Collectors.toCollection(ArrayList::new));
+    // The claim is part of the registration transaction: if the insert fails the flag rolls back with
+    // it and the next signup becomes administrator instead.
+    private boolean claimAdministrator() {
+        if (administratorClaimed.get()) return false;
+        if (registrationStateRepository.claimAdministrator() == 1) return true;
+        administratorClaimed.set(true);
+        return false;
     }
 
-    //Validation Methods
+    private Collection<User> applyRoleChanges(List<RoleChangeRequest> requests, Set<String> emails) {
+        Map<String, User> users = new HashMap<>();
+        for (User user : userRepository.findAllByEmailIn(emails)) users.put(user.getEmail(), user);
 
-    public void validateUniqueEmail(String email) {
-        if (userRepository.existsByEmail(email.toLowerCase())) throw new UserExistsException("User exist!");
+        Map<String, User> changed = new LinkedHashMap<>();
+        for (RoleChangeRequest request : requests) {
+            User user = users.get(request.user().toLowerCase());
+            if (user == null) throw new NotFoundException(ErrorCode.USER_NOT_FOUND);
+            applyRoleChange(request, user);
+            changed.putIfAbsent(user.getEmail(), user);
+        }
+        for (RoleChangeRequest request : requests) auditRoleChange(request, users.get(request.user().toLowerCase()));
+        return changed.values();
     }
 
+    // Only id and roles are read, and the row is removed with one delete; payments follow through
+    // the foreign key's on delete cascade.
+    private UserKey deleteUser(String email) {
+        UserKey user = userRepository.findKeyByEmail(email.toLowerCase())
+                .orElseThrow(() -> new NotFoundException(ErrorCode.USER_NOT_FOUND));
+        if (RoleMask.has(user.roles(), Role.ADMINISTRATOR)) {
+            throw new InvalidChangeException(ErrorCode.ADMINISTRATOR_REMOVAL);
+        }
+        userRepository.deleteByIdIn(List.of(user.id()));
+        auditService.publish(AuditAction.DELETE_USER, user.email());
+        return user;
+    }
+
+    private void applyRoleChange(RoleChangeRequest request, User user) {
+        Role role = authorityService.getRole(request.role());
+        if (request.operation().equalsIgnoreCase("grant")) {
+            authorityService.validateNoRoleConflict(user.getRoles(), role);
+            user.setRoles(user.getRoles() | role.bit());
+        } else if (request.operation().equalsIgnoreCase("remove")) {
+            authorityService.validateRoleRemoval(role, user.getRoles());
+            user.setRoles(user.getRoles() & ~role.bit());
+        } else {
+            throw new NotFoundException(ErrorCode.OPERATION_NOT_FOUND);
+        }
+    }
+
+    private void auditRoleChange(RoleChangeRequest request, User user) {
+        if (request.operation().equalsIgnoreCase("grant")) {
+            auditService.publish(AuditAction.GRANT_ROLE,
+                    "Grant role " + roleName(request.role()) + " to " + user.getEmail());
+        } else {
+            auditService.publish(AuditAction.REMOVE_ROLE,
+                    "Remove role " + roleName(request.role()) + " from " + user.getEmail());
+        }
+    }
+
+    //Validation Methods
+
     public void validatePasswordLength(String newPassword) {
         if (newPassword.length() < 12) {
-            throw new InsufficientPasswordException("Password length must be 12 chars minimum!");
+            throw new InsufficientPasswordException(ErrorCode.PASSWORD_TOO_SHORT);
         }
     }
 
     public void validateUniquePassword(String newPassword, String oldPassword) {
-        if (passwordEncoder().matches(newPassword, oldPassword)) {
-            throw new InsufficientPasswordException("The passwords must be different!");
+        if (passwordEncoder.matches(newPassword, oldPassword)) {
+            throw new InsufficientPasswordException(ErrorCode.PASSWORD_NOT_CHANGED);
         }
     }
 
@@ -166,46 +293,44 @@ public class UserService implements UserDetailsService {
         breachedPasswords.validatePasswordBreached(newPassword);
     }
 
-    void validateUserExists(String employee) {
-        if (!userRepository.existsByEmail(employee.toLowerCase())){
-            throw new NotFoundException("User not found!");
+    @Transactional(readOnly = true)
+    public void validateUserExists(String employee) {
+        if (employeeDirectory.contains(employee)) return;
+        Long id = userRepository.findIdByEmail(employee.toLowerCase())
+                .orElseThrow(() -> new NotFoundException(ErrorCode.USER_NOT_FOUND));
+        employeeDirectory.added(employee, id);
+    }
+
+    // A directory id outlives its user until the next reconciliation when the user was deleted on another
+    // instance, and a payroll write with it fails on the user foreign key. The emails are dropped from the
+    // directory and looked up again; one that is really gone is reported as USER_NOT_FOUND.
+    @Transactional(readOnly = true)
+    public void forgetDeleted(Collection<String> emails) {
+        for (String email : emails) employeeDirectory.removed(email);
+        Map<String, Long> ids = resolveUserIds(emails);
+        for (String email : emails) {
+            if (!ids.containsKey(email.toLowerCase())) throw new NotFoundException(ErrorCode.USER_NOT_FOUND);
         }
     }
 
     //Helper Methods
 
-    public List<String> getRoles(User user) {
-        return user.getAuthorities()
-            .stream()
-            .map(authority -> authority.getRole())
-            .sorted()
-            .toList();
+    private String roleName(String role) {
+        return role.substring("ROLE_".length());
+    }
+
+    private boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains("uk_users_email");
     }
 
-    public User buildUser(UserRegistrationRequest newUser) {
+    public User buildUser(UserRegistrationRequest newUser, String encodedPassword, int roles) {
         User user = new User(
                 newUser.name(),
                 newUser.lastname(),
                 newUser.email().toLowerCase(),
-                passwordEncoder().encode(newUser.password()),
-                authorityService.setAuthority());
+                encodedPassword,
+                roles);
         return user;
     }
-
-    public UserDto buildUserDto(User user) {
-        return new UserDto(
-            user.getId(),
-            user.getName(),
-            user.getLastName(),
-            user.getEmail(),
-            getRoles(user).toArray(new String[0]));
-    }
-
-    public UserDto[] buildUserDtoArray(List<User> users){
-        return users.stream()
-                .map(this::buildUserDto)
-                .sorted(Comparator.comparing(UserDto::id))
-                .toList()
-                .toArray(new UserDto[0]);
-    }
 }
@@ -0,0 +1,15 @@
+package account.user.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record UserDeprovisionRequest(
+    @NotEmpty(message = "emails are empty")
+    @Size(max = 1000, message = "At most 1000 users per request!")
+    List<@NotBlank String> emails,
+    @JsonProperty("archive_payments") boolean archivePayments) {
+}
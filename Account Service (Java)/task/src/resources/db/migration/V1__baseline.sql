@@ -0,0 +1,59 @@
+-- Schema as hibernate.ddl-auto=update created it. Databases that predate Flyway are baselined at
+-- version 0 (spring.flyway.baseline-on-migrate) and run this script too, so everything here is
+-- "if not exists": a database written before the audit log existed gets audit_events and its
+-- sequence, and the tables it already has are left as they are.
+-- Databases from course stages before the roles existed (a users table with users_seq, like the
+-- empty service_db.mv.db in the repository) get the missing tables, but any users they hold would
+-- clash with the new user_seq; such databases are not supported and should be deleted.
+
+create sequence if not exists user_seq start with 1 increment by 50;
+create sequence if not exists authority_seq start with 1 increment by 50;
+create sequence if not exists payment_seq start with 1 increment by 50;
+create sequence if not exists audit_event_seq start with 1 increment by 50;
+
+create table if not exists users (
+    id bigint not null,
+    email varchar(255),
+    lastname varchar(255),
+    name varchar(255),
+    password varchar(255),
+    primary key (id)
+);
+
+create table if not exists authorities (
+    id bigint not null,
+    role varchar(255),
+    role_group varchar(255),
+    primary key (id),
+    constraint uk_authorities_role unique (role)
+);
+
+create table if not exists user_authorities (
+    user_id bigint not null,
+    authority_id bigint not null,
+    primary key (user_id, authority_id),
+    constraint fk_user_authorities_user foreign key (user_id) references users (id),
+    constraint fk_user_authorities_authority foreign key (authority_id) references authorities (id)
+);
+
+create table if not exists payments (
+    id bigint not null,
+    employee varchar(255),
+    period varchar(255),
+    salary bigint,
+    primary key (id)
+);
+
+create table if not exists audit_events (
+    id bigint not null,
+    occurred_at timestamp(6),
+    action varchar(255),
+    subject varchar(255),
+    object_name varchar(255),
+    path varchar(255),
+    primary key (id)
+);
+
+create index if not exists idx_audit_events_time on audit_events (occurred_at, id);
+create index if not exists idx_audit_events_subject_time on audit_events (subject, occurred_at, id);
+create index if not exists idx_audit_events_action_time on audit_events (action, occurred_at, id);
@@ -0,0 +1,24 @@
+-- Databases from before this version may hold duplicates the unique indexes below would reject: racy
+-- signups could store one email twice, and a payments batch could post one employee and period twice.
+-- The first row (lowest id) is kept. Each cleanup runs against a plain index so it is a lookup per row
+-- rather than a scan.
+create index idx_users_email_dedupe on users (email);
+delete from user_authorities a where exists (
+    select 1 from users u join users v on v.email = u.email and v.id < u.id where u.id = a.user_id);
+delete from users u where exists (select 1 from users v where v.email = u.email and v.id < u.id);
+drop index idx_users_email_dedupe;
+
+-- UserRepository.findByEmail / existsByEmail (also run for every authenticated request).
+create unique index uk_users_email on users (email);
+
+-- PaymentRepository.findByEmployeeAndPeriod and findByEmployeeOrderByPeriodDesc: the index is read in
+-- order and carries salary (H2 secondary indexes also hold the primary key), so neither query touches
+-- the table rows.
+create index idx_payments_employee_period_desc on payments (employee, period desc, salary);
+
+-- After the read index above, which serves the duplicate check.
+delete from payments p where exists (
+    select 1 from payments q where q.employee = p.employee and q.period = p.period and q.id < p.id);
+
+-- PaymentRepository.existsByEmployeeAndPeriod, and the one-payment-per-period rule itself.
+create unique index uk_payments_employee_period on payments (employee, period);
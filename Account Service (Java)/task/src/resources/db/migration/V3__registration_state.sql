@@ -0,0 +1,13 @@
+-- Single-row flag that decides the first administrator: a signup registers as administrator only if
+-- its transaction is the one that flips admin_claimed from false to true. Existing databases that
+-- already have users have had their administrator.
+create table registration_state (
+    id integer not null,
+    admin_claimed boolean not null,
+    primary key (id)
+);
+
+insert into registration_state (id, admin_claimed) select 1, count(*) > 0 from users;
+
+-- Emails are stored lower-cased, so uk_users_email is the case-insensitive uniqueness rule.
+alter table users add constraint ck_users_email_normalized check (email = lower(email));
@@ -0,0 +1,18 @@
+-- Roles move from the user_authorities join table to a bit set on the user row. The bits are the
+-- ones of account.authority.Role; authorities stays as the catalog and records each role's bit.
+alter table authorities add column role_bit integer;
+
+update authorities set role_bit = 1 where role = 'ROLE_ADMINISTRATOR';
+update authorities set role_bit = 2 where role = 'ROLE_USER';
+update authorities set role_bit = 4 where role = 'ROLE_ACCOUNTANT';
+
+alter table users add column roles integer default 0 not null;
+
+-- (user_id, authority_id) is the join table's primary key, so a sum of distinct bits is their OR.
+update users u set roles = coalesce((
+    select sum(a.role_bit)
+    from user_authorities ua
+    join authorities a on a.id = ua.authority_id
+    where ua.user_id = u.id), 0);
+
+drop table user_authorities;
@@ -0,0 +1,25 @@
+-- Payments reference their employee by users.id instead of carrying the email string.
+alter table payments add column user_id bigint;
+
+-- Posted payments kept the email as the accountant typed it, while users hold it lower-cased.
+update payments p set user_id = (select u.id from users u where u.email = lower(p.employee));
+
+-- Rows of users deleted before this version: nothing can read them any more.
+delete from payments where user_id is null;
+
+drop index uk_payments_employee_period;
+drop index idx_payments_employee_period_desc;
+alter table payments drop column employee;
+alter table payments alter column user_id set not null;
+
+alter table payments add constraint fk_payments_user foreign key (user_id) references users (id) on delete cascade;
+
+-- Same roles as the V2 indexes they replace, on an 8-byte key instead of the email. The read index
+-- goes first so the duplicate check below is an index lookup per row rather than a scan.
+create index idx_payments_user_period_desc on payments (user_id, period desc, salary);
+
+-- Emails that only differed in case now name the same user and period; keep the first posted row.
+delete from payments p where exists (
+    select 1 from payments q where q.user_id = p.user_id and q.period = p.period and q.id < p.id);
+
+create unique index uk_payments_user_period on payments (user_id, period);
@@ -0,0 +1,13 @@
+-- Payments of deprovisioned users, kept when the deprovisioning request asks for it. The user row is
+-- gone by then, so the email is copied next to the old user id.
+create table payments_archive (
+    id bigint not null,
+    user_id bigint not null,
+    email varchar(255) not null,
+    period varchar(255) not null,
+    salary bigint,
+    archived_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_payments_archive_email on payments_archive (email, period);
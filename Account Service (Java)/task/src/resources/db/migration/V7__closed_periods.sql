@@ -0,0 +1,25 @@
+-- Payroll months that are final. Closing one moves its rows out of payments into closed_payments,
+-- rendered the way /api/empl/payment returns them; neither table is updated afterwards.
+create table closed_periods (
+    period varchar(255) not null,
+    closed_at timestamp(6) not null,
+    closed_by varchar(255) not null,
+    primary key (period)
+);
+
+-- id is the payments.id the row was closed from, so archived rows keep one id whichever table they
+-- come from.
+create table closed_payments (
+    id bigint not null,
+    user_id bigint not null,
+    period varchar(255) not null,
+    salary bigint,
+    name varchar(255),
+    lastname varchar(255),
+    period_label varchar(255) not null,
+    salary_label varchar(255) not null,
+    primary key (id),
+    constraint fk_closed_payments_user foreign key (user_id) references users (id) on delete cascade
+);
+
+create unique index uk_closed_payments_user_period on closed_payments (user_id, period desc);
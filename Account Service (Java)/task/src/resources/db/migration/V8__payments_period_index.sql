@@ -0,0 +1,3 @@
+-- Period-wide operations (closing a period, salary adjustments) select a month across all employees;
+-- the existing indexes lead with user_id and cannot serve them.
+create index idx_payments_period on payments (period, user_id);
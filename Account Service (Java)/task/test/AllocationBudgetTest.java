@@ -0,0 +1,87 @@
+import org.hyperskill.hstest.dynamic.DynamicTest;
+import org.hyperskill.hstest.dynamic.input.DynamicTesting;
+import org.hyperskill.hstest.exception.outcomes.WrongAnswer;
+import org.hyperskill.hstest.mocks.web.response.HttpResponse;
+import org.hyperskill.hstest.testcase.CheckResult;
+
+/**
+ * Pins the bytes each endpoint may allocate on its handling thread, read from the X-Allocated-Bytes
+ * header that the application adds outside the prod profile once the response body is written, so
+ * rendering the JSON counts. A budget is a fixed part plus a part per item in the payload (payments
+ * posted or returned, users listed), so growing the payload does not hide a per-item regression.
+ * Every measured request follows an unmeasured one down the same path, which keeps one-off class
+ * loading and query plan compilation out of the numbers. When a change makes an endpoint cheaper,
+ * lower its budget here.
+ */
+public class AllocationBudgetTest extends ServiceTestSupport {
+
+  private static final String ALLOCATED_BYTES_HEADER = "X-Allocated-Bytes";
+  private static final String[] MONTHS = {"01", "02", "03", "04", "05", "06", "07", "08", "09", "11", "12"};
+  private static final int KIB = 1024;
+
+  private final String warmUpRoleGrant =
+          "{\"user\":\"" + EMPLOYEE_EMAIL + "\",\"role\":\"ACCOUNTANT\",\"operation\":\"GRANT\"}";
+  private final String roleGrant =
+          "{\"user\":\"" + ACCOUNTANT_EMAIL + "\",\"role\":\"ACCOUNTANT\",\"operation\":\"GRANT\"}";
+
+  private String payments(int count, int firstYear) {
+    StringBuilder body = new StringBuilder("[");
+    for (int i = 0; i < count; i++) {
+      if (i > 0) body.append(',');
+      body.append("{\"employee\":\"" + EMPLOYEE_EMAIL + "\",\"period\":\"").append(MONTHS[i % MONTHS.length])
+              .append("-").append(firstYear + i / MONTHS.length).append("\",\"salary\":").append(100_000 + i).append('}');
+    }
+    return body.append(']').toString();
+  }
+
+  CheckResult warmUp(TestReq user, String method, String api, String body) {
+    sendExpectingOk(user, method, api, body);
+    return CheckResult.correct();
+  }
+
+  CheckResult testBudget(TestReq user, String method, String api, String body, int items,
+                         long fixedBudget, long perItemBudget) {
+    HttpResponse response = sendExpectingOk(user, method, api, body);
+    long allocated = headerValue(response, ALLOCATED_BYTES_HEADER, method, api);
+    if (allocated < 0) throw new WrongAnswer("The JVM running the service does not report thread allocations");
+    long budget = fixedBudget + perItemBudget * items;
+    if (allocated > budget) {
+      throw new WrongAnswer(method + " " + api + " with " + items + " item(s) allocated " + allocated
+              + " bytes, its budget is " + budget);
+    }
+    return CheckResult.correct();
+  }
+
+  CheckResult warmUpPasswordChange(String password) {
+    warmUp(employee, "POST", "/api/auth/changepass", "{\"new_password\":\"" + password + "\"}");
+    employee.setProps("password", password);
+    return CheckResult.correct();
+  }
+
+  CheckResult testPasswordChange(String password, long budget) {
+    testBudget(employee, "POST", "/api/auth/changepass", "{\"new_password\":\"" + password + "\"}", 1, budget, 0);
+    employee.setProps("password", password);
+    return CheckResult.correct();
+  }
+
+  // The employee holds 24 payments once the posts are done: the warm-up one, then 1 and 22 measured.
+  @DynamicTest
+  DynamicTesting[] budgets = new DynamicTesting[] {
+          () -> warmUp(null, "POST", "/api/auth/signup", admin.toJson()),
+          () -> testBudget(null, "POST", "/api/auth/signup", accountant.toJson(), 1, 256 * KIB, 0),
+          () -> testBudget(null, "POST", "/api/auth/signup", employee.toJson(), 1, 256 * KIB, 0),
+          () -> warmUp(admin, "PUT", "/api/admin/user/role", warmUpRoleGrant),
+          () -> testBudget(admin, "PUT", "/api/admin/user/role", roleGrant, 1, 256 * KIB, 0),
+          () -> warmUp(accountant, "POST", "/api/acct/payments", payments(1, 2001)),
+          () -> testBudget(accountant, "POST", "/api/acct/payments", payments(1, 2005), 1, 192 * KIB, 16 * KIB),
+          () -> testBudget(accountant, "POST", "/api/acct/payments", payments(22, 2011), 22, 192 * KIB, 16 * KIB),
+          () -> warmUp(employee, "GET", "/api/empl/payment", ""),
+          () -> testBudget(employee, "GET", "/api/empl/payment", "", 24, 128 * KIB, 4 * KIB),
+          () -> warmUp(employee, "GET", "/api/empl/payment?period=01-2011", ""),
+          () -> testBudget(employee, "GET", "/api/empl/payment?period=01-2011", "", 1, 128 * KIB, 0),
+          () -> warmUp(admin, "GET", "/api/admin/user/", ""),
+          () -> testBudget(admin, "GET", "/api/admin/user/", "", 3, 128 * KIB, 8 * KIB),
+          () -> warmUpPasswordChange("aH4ncMq7WsDf"),
+          () -> testPasswordChange("tR6vkLp2NzXe", 256 * KIB),
+  };
+}
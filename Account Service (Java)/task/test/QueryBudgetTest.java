@@ -0,0 +1,100 @@
+import org.hyperskill.hstest.dynamic.DynamicTest;
+import org.hyperskill.hstest.dynamic.input.DynamicTesting;
+import org.hyperskill.hstest.exception.outcomes.WrongAnswer;
+import org.hyperskill.hstest.mocks.web.response.HttpResponse;
+import org.hyperskill.hstest.testcase.CheckResult;
+
+/**
+ * Pins the number of SQL statements each endpoint may issue, read from the X-Query-Count header
+ * that the application adds outside the prod profile. Budgets include the one statement basic
+ * authentication costs (the user row, roles included). Audit rows are written by the background
+ * writer on its own thread and never count. When a change lowers an endpoint's count, lower its
+ * budget here so the improvement cannot silently regress.
+ */
+public class QueryBudgetTest extends ServiceTestSupport {
+
+  private static final String QUERY_COUNT_HEADER = "X-Query-Count";
+  private static final String NEW_PASSWORD = "aH4ncMq7WsDf";
+
+  private final String payments = "[" +
+          "{\"employee\":\"" + EMPLOYEE_EMAIL + "\",\"period\":\"01-2023\",\"salary\":123456}," +
+          "{\"employee\":\"" + EMPLOYEE_EMAIL + "\",\"period\":\"02-2023\",\"salary\":123457}]";
+  private final String paymentUpdate =
+          "{\"employee\":\"" + EMPLOYEE_EMAIL + "\",\"period\":\"02-2023\",\"salary\":200000}";
+  private final String roleGrant =
+          "{\"user\":\"" + ACCOUNTANT_EMAIL + "\",\"role\":\"ACCOUNTANT\",\"operation\":\"GRANT\"}";
+  private final String passwordChange = "{\"new_password\":\"" + NEW_PASSWORD + "\"}";
+  // Changes two users, so the update is one batch of two rows; the accountant keeps ACCOUNTANT.
+  private final String bulkRoleChange = "["
+          + "{\"user\":\"" + EMPLOYEE_EMAIL + "\",\"role\":\"ACCOUNTANT\",\"operation\":\"GRANT\"},"
+          + "{\"user\":\"" + ACCOUNTANT_EMAIL + "\",\"role\":\"USER\",\"operation\":\"REMOVE\"}]";
+  private final String raisePreview = "{\"period\":\"02-2023\",\"percent\":3,\"role\":\"USER\",\"preview\":true}";
+  private final String raise = "{\"period\":\"02-2023\",\"percent\":3,\"role\":\"USER\"}";
+  private final String periodClose = "{\"period\":\"01-2023\"}";
+  private final String deprovision = "{\"emails\":[\"" + EMPLOYEE_EMAIL + "\",\"" + ADMIN_EMAIL + "\","
+          + "\"staff.nobody@acme.com\"],\"archive_payments\":true}";
+
+  CheckResult testBudget(TestReq user, String method, String api, String body, int budget) {
+    HttpResponse response = sendExpectingOk(user, method, api, body);
+    long statements = headerValue(response, QUERY_COUNT_HEADER, method, api);
+    if (statements > budget) {
+      throw new WrongAnswer(method + " " + api + " issued " + statements
+              + " SQL statements, its budget is " + budget);
+    }
+    return CheckResult.correct();
+  }
+
+  CheckResult testPasswordChange(int budget) {
+    testBudget(employee, "POST", "/api/auth/changepass", passwordChange, budget);
+    employee.setProps("password", NEW_PASSWORD);
+    return CheckResult.correct();
+  }
+
+  // Signup: the administrator claim, two sequence calls to open the first id block, the insert; the
+  // second signup still tries the claim, the third skips it. Role and password change: load, update.
+  // Payments: the closed periods on first use, existing payments, two sequence calls, one batched
+  // insert; employee ids come from the directory. Reads: one select each; the user list counts first.
+  // Later groups run with the changed password.
+  @DynamicTest(order = 1)
+  DynamicTesting[] budgets = new DynamicTesting[] {
+          () -> testBudget(null, "POST", "/api/auth/signup", admin.toJson(), 4),
+          () -> testBudget(null, "POST", "/api/auth/signup", accountant.toJson(), 2),
+          () -> testBudget(null, "POST", "/api/auth/signup", employee.toJson(), 1),
+          () -> testBudget(admin, "PUT", "/api/admin/user/role", roleGrant, 3),
+          () -> testBudget(accountant, "POST", "/api/acct/payments", payments, 6),
+          () -> testBudget(accountant, "PUT", "/api/acct/payments", paymentUpdate, 3),
+          () -> testBudget(employee, "GET", "/api/empl/payment", "", 2),
+          () -> testBudget(employee, "GET", "/api/empl/payment?period=02-2023", "", 2),
+          () -> testBudget(admin, "GET", "/api/admin/user/", "", 3),
+          () -> testPasswordChange(3),
+  };
+
+  // One select for every named user and one batched update, however many changes the request holds.
+  @DynamicTest(order = 2)
+  DynamicTesting[] bulkRoleChangeBudgets = new DynamicTesting[] {
+          () -> testBudget(admin, "PUT", "/api/admin/user/roles", bulkRoleChange, 3),
+  };
+
+  // Set-based at any period size: the totals query, and for a real run the row lock and one update.
+  @DynamicTest(order = 3)
+  DynamicTesting[] salaryAdjustmentBudgets = new DynamicTesting[] {
+          () -> testBudget(accountant, "POST", "/api/acct/payments/adjust", raisePreview, 2),
+          () -> testBudget(accountant, "POST", "/api/acct/payments/adjust", raise, 4),
+  };
+
+  // Constant in the number of payments: the period's payments, their users, one batched insert into
+  // closed_payments, the delete, and the closed_periods row, which is merged (select and insert).
+  // A closed period is read from closed_payments once and from memory afterwards.
+  @DynamicTest(order = 4)
+  DynamicTesting[] periodCloseBudgets = new DynamicTesting[] {
+          () -> testBudget(accountant, "POST", "/api/acct/payments/close", periodClose, 7),
+          () -> testBudget(employee, "GET", "/api/empl/payment?period=01-2023", "", 2),
+          () -> testBudget(employee, "GET", "/api/empl/payment?period=01-2023", "", 1),
+  };
+
+  // Set-based whatever the batch size: lookup, two archives, payment delete, user delete.
+  @DynamicTest(order = 5)
+  DynamicTesting[] deprovisionBudgets = new DynamicTesting[] {
+          () -> testBudget(admin, "POST", "/api/admin/user/deprovision", deprovision, 6),
+  };
+}
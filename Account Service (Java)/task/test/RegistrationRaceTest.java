@@ -0,0 +1,108 @@
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.hyperskill.hstest.dynamic.DynamicTest;
+import org.hyperskill.hstest.dynamic.input.DynamicTesting;
+import org.hyperskill.hstest.exception.outcomes.WrongAnswer;
+import org.hyperskill.hstest.mocks.web.response.HttpResponse;
+import org.hyperskill.hstest.testcase.CheckResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import static org.hyperskill.hstest.common.JsonUtils.getJson;
+
+/**
+ * Fires concurrent signups against an empty database: every user signs up twice at once, the second
+ * time with an upper-cased email. Exactly one signup per user may succeed, exactly one user overall
+ * may become administrator, and the stored users must have unique emails. Each signup costs a BCrypt
+ * hash plus the breached-password check, so this runs for a few minutes.
+ */
+public class RegistrationRaceTest extends ServiceTestSupport {
+
+  private static final int USERS = 100;
+  private static final int THREADS = 64;
+  private static final String PASSWORD = "rAceSignupPass1";
+
+  private String administrator;
+
+  private String signup(int i, boolean upperCase) {
+    String email = "race" + i + "@acme.com";
+    return new TestReq().setProps("name", "Race")
+            .setProps("lastname", "User" + i)
+            .setProps("email", upperCase ? email.toUpperCase() : email)
+            .setProps("password", PASSWORD).toJson();
+  }
+
+  CheckResult testParallelSignups() {
+    List<String> bodies = new ArrayList<>(USERS * 2);
+    for (int i = 0; i < USERS; i++) {
+      bodies.add(signup(i, false));
+      bodies.add(signup(i, true));
+    }
+
+    List<Callable<HttpResponse>> requests = new ArrayList<>(bodies.size());
+    for (String body : bodies) requests.add(() -> post("/api/auth/signup", body).send());
+
+    int created = 0;
+    int rejected = 0;
+    List<String> administrators = new ArrayList<>();
+    for (HttpResponse response : sendConcurrently(THREADS, requests)) {
+      if (response.getStatusCode() == 200) {
+        created++;
+        JsonObject user = getJson(response.getContent()).getAsJsonObject();
+        if (hasRole(user.getAsJsonArray("roles"), "ROLE_ADMINISTRATOR")) {
+          administrators.add(user.get("email").getAsString());
+        }
+      } else if (response.getStatusCode() == 400 && response.getContent().contains("User exist!")) {
+        rejected++;
+      } else {
+        throw new WrongAnswer("Unexpected signup response " + response.getStatusCode()
+                + "\nResponse body:\n" + response.getContent());
+      }
+    }
+
+    if (created != USERS || rejected != USERS) {
+      throw new WrongAnswer(USERS + " users signed up twice each: expected " + USERS + " created and "
+              + USERS + " \"User exist!\" responses, got " + created + " and " + rejected);
+    }
+    if (administrators.size() != 1) {
+      throw new WrongAnswer("Exactly one concurrent signup must become administrator, got " + administrators);
+    }
+    administrator = administrators.get(0);
+    return CheckResult.correct();
+  }
+
+  CheckResult testStoredUsers() {
+    HttpResponse response = get("/api/admin/user/").basicAuth(administrator, PASSWORD).send();
+    if (response.getStatusCode() != 200) {
+      throw new WrongAnswer("GET /api/admin/user/ should respond with status code 200, responded: "
+              + response.getStatusCode() + "\nResponse body:\n" + response.getContent());
+    }
+
+    JsonArray users = getJson(response.getContent()).getAsJsonArray();
+    Set<String> emails = new HashSet<>();
+    int administrators = 0;
+    for (JsonElement element : users) {
+      JsonObject user = element.getAsJsonObject();
+      if (!emails.add(user.get("email").getAsString())) {
+        throw new WrongAnswer("Email " + user.get("email").getAsString() + " is stored more than once");
+      }
+      if (hasRole(user.getAsJsonArray("roles"), "ROLE_ADMINISTRATOR")) administrators++;
+    }
+    if (users.size() != USERS || administrators != 1) {
+      throw new WrongAnswer("Expected " + USERS + " users with one administrator, found " + users.size()
+              + " users with " + administrators + " administrators");
+    }
+    return CheckResult.correct();
+  }
+
+  @DynamicTest
+  DynamicTesting[] race = new DynamicTesting[] {
+          this::testParallelSignups,
+          this::testStoredUsers,
+  };
+}
@@ -0,0 +1,121 @@
+import account.AccountServiceApplication;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.hyperskill.hstest.exception.outcomes.WrongAnswer;
+import org.hyperskill.hstest.mocks.web.request.HttpRequest;
+import org.hyperskill.hstest.mocks.web.response.HttpResponse;
+import org.hyperskill.hstest.stage.SpringTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hyperskill.hstest.common.JsonUtils.getJson;
+
+/**
+ * Base of the tests that exercise the service beyond the stage checks in AccountServiceTest. Starts the
+ * application on the same database file and holds the request plumbing they share: sending as a user,
+ * reading a numeric response header, and releasing many requests at once.
+ */
+abstract class ServiceTestSupport extends SpringTest {
+
+  static final String ADMIN_EMAIL = "staff.admin@acme.com";
+  static final String ACCOUNTANT_EMAIL = "staff.accountant@acme.com";
+  static final String EMPLOYEE_EMAIL = "staff.employee@acme.com";
+
+  // Signup bodies for tests that need one user of each kind. Signed up in this order on the empty
+  // database, the first becomes administrator and the other two start as ROLE_USER.
+  final TestReq admin = staff("Admin", ADMIN_EMAIL, "qW7bnRt2LpXz");
+  final TestReq accountant = staff("Accountant", ACCOUNTANT_EMAIL, "kJ3vbNx8QwEr");
+  final TestReq employee = staff("Employee", EMPLOYEE_EMAIL, "zP5mcVb9TyUi");
+
+  ServiceTestSupport() {
+    super(AccountServiceApplication.class, "../service_db.mv.db");
+  }
+
+  private static TestReq staff(String lastname, String email, String password) {
+    return new TestReq().setProps("name", "Staff")
+            .setProps("lastname", lastname)
+            .setProps("email", email)
+            .setProps("password", password);
+  }
+
+  // Sends as the user of a signup body, or anonymously when user is null.
+  HttpResponse send(TestReq user, String method, String api, String body) {
+    HttpRequest request = switch (method) {
+      case "POST" -> post(api, body);
+      case "PUT" -> put(api, body);
+      case "DELETE" -> delete(api);
+      default -> get(api);
+    };
+    if (user != null) {
+      JsonObject credentials = getJson(user.toJson()).getAsJsonObject();
+      request = request.basicAuth(credentials.get("email").getAsString(), credentials.get("password").getAsString());
+    }
+    return request.send();
+  }
+
+  HttpResponse sendExpectingOk(TestReq user, String method, String api, String body) {
+    HttpResponse response = send(user, method, api, body);
+    if (response.getStatusCode() != 200) {
+      throw new WrongAnswer(method + " " + api + " should respond with status code 200, responded: "
+              + response.getStatusCode() + "\nResponse body:\n" + response.getContent());
+    }
+    return response;
+  }
+
+  long headerValue(HttpResponse response, String name, String method, String api) {
+    for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey())) return Long.parseLong(header.getValue().trim());
+    }
+    throw new WrongAnswer(method + " " + api + " did not return the " + name + " header");
+  }
+
+  // Every request waits on one latch, so they hit the service together rather than in submission order;
+  // the responses are returned in submission order.
+  List<HttpResponse> sendConcurrently(int threads, List<Callable<HttpResponse>> requests) {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<HttpResponse>> futures = new ArrayList<>(requests.size());
+    try {
+      for (Callable<HttpResponse> request : requests) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return request.call();
+        }));
+      }
+      start.countDown();
+
+      List<HttpResponse> responses = new ArrayList<>(futures.size());
+      for (Future<HttpResponse> future : futures) responses.add(await(future));
+      return responses;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  static boolean hasRole(JsonArray roles, String role) {
+    for (JsonElement element : roles) {
+      if (role.equals(element.getAsString())) return true;
+    }
+    return false;
+  }
+
+  private HttpResponse await(Future<HttpResponse> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new WrongAnswer("Interrupted while waiting for the concurrent requests");
+    } catch (ExecutionException e) {
+      throw new WrongAnswer("Concurrent request failed: " + e.getCause());
+    }
+  }
+}
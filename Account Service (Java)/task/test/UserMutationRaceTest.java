@@ -0,0 +1,124 @@
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.hyperskill.hstest.dynamic.DynamicTest;
+import org.hyperskill.hstest.dynamic.input.DynamicTesting;
+import org.hyperskill.hstest.exception.outcomes.WrongAnswer;
+import org.hyperskill.hstest.mocks.web.response.HttpResponse;
+import org.hyperskill.hstest.testcase.CheckResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.hyperskill.hstest.common.JsonUtils.getJson;
+
+/**
+ * Races a role change by the administrator against a password change by the user, for every user at
+ * once, and repeats it while alternating between granting and removing ROLE_ACCOUNTANT. Both writes
+ * touch the same users row; if either overwrote the other, a user would end a round with the wrong
+ * roles or unable to log in with the new password.
+ */
+public class UserMutationRaceTest extends ServiceTestSupport {
+
+  private static final int USERS = 40;
+  private static final int THREADS = 32;
+  private static final String ADMIN = "mutation.admin@acme.com";
+  private static final String ADMIN_PASSWORD = "mUtationAdmin1";
+
+  private final Map<String, String> passwords = new HashMap<>();
+
+  private String email(int i) {
+    return "mutation" + i + "@acme.com";
+  }
+
+  private String password(int round) {
+    return "mUtationPass" + round + "x";
+  }
+
+  CheckResult testSignups() {
+    signup(ADMIN, ADMIN_PASSWORD);
+    for (int i = 0; i < USERS; i++) {
+      signup(email(i), password(0));
+      passwords.put(email(i), password(0));
+    }
+    return CheckResult.correct();
+  }
+
+  CheckResult testRound(int round) {
+    String operation = round % 2 == 1 ? "GRANT" : "REMOVE";
+    String newPassword = password(round);
+
+    List<Callable<HttpResponse>> requests = new ArrayList<>(USERS * 2);
+    for (int i = 0; i < USERS; i++) {
+      String email = email(i);
+      String roleChange = new TestReq().setProps("user", email).setProps("role", "ACCOUNTANT")
+              .setProps("operation", operation).toJson();
+      String passwordChange = new TestReq().setProps("new_password", newPassword).toJson();
+      String currentPassword = passwords.get(email);
+      requests.add(() -> put("/api/admin/user/role", roleChange).basicAuth(ADMIN, ADMIN_PASSWORD).send());
+      requests.add(() -> post("/api/auth/changepass", passwordChange).basicAuth(email, currentPassword).send());
+    }
+
+    for (HttpResponse response : sendConcurrently(THREADS, requests)) {
+      if (response.getStatusCode() != 200) {
+        throw new WrongAnswer("Round " + round + ": unexpected response " + response.getStatusCode()
+                + "\nResponse body:\n" + response.getContent());
+      }
+    }
+    for (int i = 0; i < USERS; i++) passwords.put(email(i), newPassword);
+    return CheckResult.correct();
+  }
+
+  CheckResult testRoles(int round) {
+    boolean accountant = round % 2 == 1;
+    HttpResponse response = get("/api/admin/user/").basicAuth(ADMIN, ADMIN_PASSWORD).send();
+    if (response.getStatusCode() != 200) {
+      throw new WrongAnswer("GET /api/admin/user/ should respond with status code 200, responded: "
+              + response.getStatusCode() + "\nResponse body:\n" + response.getContent());
+    }
+    for (JsonElement element : getJson(response.getContent()).getAsJsonArray()) {
+      JsonObject user = element.getAsJsonObject();
+      String email = user.get("email").getAsString();
+      if (!passwords.containsKey(email)) continue;
+      if (hasRole(user.getAsJsonArray("roles"), "ROLE_ACCOUNTANT") != accountant) {
+        throw new WrongAnswer("Round " + round + ": the role change on " + email + " was lost, roles are "
+                + user.getAsJsonArray("roles"));
+      }
+    }
+    return CheckResult.correct();
+  }
+
+  CheckResult testPasswords(int round) {
+    for (Map.Entry<String, String> user : passwords.entrySet()) {
+      HttpResponse response = get("/api/empl/payment").basicAuth(user.getKey(), user.getValue()).send();
+      if (response.getStatusCode() != 200) {
+        throw new WrongAnswer("Round " + round + ": the password change of " + user.getKey()
+                + " was lost, logging in with it responded " + response.getStatusCode());
+      }
+    }
+    return CheckResult.correct();
+  }
+
+  private void signup(String email, String password) {
+    String body = new TestReq().setProps("name", "Mutation")
+            .setProps("lastname", "User")
+            .setProps("email", email)
+            .setProps("password", password).toJson();
+    HttpResponse response = post("/api/auth/signup", body).send();
+    if (response.getStatusCode() != 200) {
+      throw new WrongAnswer("Signup of " + email + " should respond with status code 200, responded: "
+              + response.getStatusCode() + "\nResponse body:\n" + response.getContent());
+    }
+  }
+
+  @DynamicTest
+  DynamicTesting[] race = new DynamicTesting[] {
+          this::testSignups,
+          () -> testRound(1), () -> testRoles(1), () -> testPasswords(1),
+          () -> testRound(2), () -> testRoles(2), () -> testPasswords(2),
+          () -> testRound(3), () -> testRoles(3), () -> testPasswords(3),
+          () -> testRound(4), () -> testRoles(4), () -> testPasswords(4),
+  };
+}